@@ -0,0 +1,122 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.service.BookingAttempt;
+import com.example.travel.service.BookingAttemptResult;
+import com.example.travel.service.BookingGroupCommitService;
+import com.example.travel.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@value #BURST} booking attempts for one hotel, as when a popular hotel opens its
+ * calendar. {@code per-request} sends every attempt through {@link BookingService#bookHotel} from
+ * its own thread, so they queue on the hotel's stripe and row lock and commit one by one;
+ * {@code group} books the whole burst with one {@link BookingGroupCommitService#bookHotel} call.
+ * Scores are per attempt. Every burst targets a fresh hotel and mixes winners with conflicts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingGroupCommitBenchmark {
+
+    static final int BURST = 32;
+
+    @Param({"per-request", "group"})
+    public String mode;
+
+    private BookingService bookingService;
+    private BookingGroupCommitService groupCommitService;
+    private ExecutorService clients;
+    private int hotels;
+    private LocalDate today;
+    private SplittableRandom random;
+    private long nextHotel;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededTravelApplication application) {
+        bookingService = application.bean(BookingService.class);
+        groupCommitService = application.bean(BookingGroupCommitService.class);
+        clients = Executors.newFixedThreadPool(BURST);
+        hotels = application.hotels;
+        today = application.today;
+        random = new SplittableRandom(13);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int bookBurst() throws Exception {
+        long hotelId = 1L + (nextHotel++ % hotels);
+        List<BookingAttempt> attempts = burst();
+        if ("group".equals(mode)) {
+            int booked = 0;
+            for (BookingAttemptResult result : groupCommitService.bookHotel(hotelId, attempts)) {
+                booked += result.isBooked() ? 1 : 0;
+            }
+            return booked;
+        }
+
+        List<Future<Boolean>> pending = new ArrayList<>(BURST);
+        for (BookingAttempt attempt : attempts) {
+            pending.add(clients.submit(() -> {
+                try {
+                    bookingService.bookHotel(hotelId, attempt.checkInDate(), attempt.checkOutDate(), attempt.user());
+                    return true;
+                } catch (InvalidBookingException e) {
+                    return false;
+                }
+            }));
+        }
+        int booked = 0;
+        for (Future<Boolean> future : pending) {
+            booked += future.get() ? 1 : 0;
+        }
+        return booked;
+    }
+
+    // Stays within the next 60 days, so roughly half of each burst collides with another attempt
+    private List<BookingAttempt> burst() {
+        List<BookingAttempt> attempts = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            LocalDate checkIn = today.plusDays(1 + random.nextInt(60));
+            int index = random.nextInt(SeededTravelApplication.TRAVELERS);
+            User user = new User();
+            user.setId(SeededTravelApplication.travelerId(index));
+            user.setUsername(SeededTravelApplication.travelerUsername(index));
+            user.setRole(UserRole.USER);
+            attempts.add(new BookingAttempt(checkIn, checkIn.plusDays(1 + random.nextInt(4)), user));
+        }
+        return attempts;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.model.Booking;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the double-booking guard costs: a burst of {@value #BURST} concurrent, overlapping attempts
+ * for one hotel. {@code guarded} goes through {@link BookingService#bookHotel}, which takes the
+ * hotel's lock stripe and row lock; {@code unguarded} runs the same conflict check and save in a
+ * transaction with neither lock, i.e. the old check-then-save path, which lets overlapping
+ * attempts through. Scores are per attempt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingGuardBenchmark {
+
+    static final int BURST = 32;
+
+    @Param({"guarded", "unguarded"})
+    public String mode;
+
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private HotelRepository hotelRepository;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService clients;
+    private int hotels;
+    private LocalDate today;
+    private SplittableRandom random;
+    private long nextHotel;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededTravelApplication application) {
+        bookingService = application.bean(BookingService.class);
+        bookingRepository = application.bean(BookingRepository.class);
+        hotelRepository = application.bean(HotelRepository.class);
+        transactionTemplate = application.bean(TransactionTemplate.class);
+        clients = Executors.newFixedThreadPool(BURST);
+        hotels = application.hotels;
+        today = application.today;
+        random = new SplittableRandom(17);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int bookBurst() throws Exception {
+        long hotelId = 1L + (nextHotel++ % hotels);
+        boolean guarded = "guarded".equals(mode);
+        List<Future<Boolean>> pending = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            LocalDate checkIn = today.plusDays(1 + random.nextInt(60));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(4));
+            User user = traveler(random.nextInt(SeededTravelApplication.TRAVELERS));
+            pending.add(clients.submit(() -> guarded
+                    ? bookGuarded(hotelId, checkIn, checkOut, user)
+                    : bookUnguarded(hotelId, checkIn, checkOut, user)));
+        }
+        int booked = 0;
+        for (Future<Boolean> future : pending) {
+            booked += future.get() ? 1 : 0;
+        }
+        return booked;
+    }
+
+    private boolean bookGuarded(long hotelId, LocalDate checkIn, LocalDate checkOut, User user) {
+        try {
+            bookingService.bookHotel(hotelId, checkIn, checkOut, user);
+            return true;
+        } catch (InvalidBookingException e) {
+            return false;
+        }
+    }
+
+    private boolean bookUnguarded(long hotelId, LocalDate checkIn, LocalDate checkOut, User user) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (bookingRepository.existsConflictingBooking(hotelId, checkIn, checkOut)) {
+                return false;
+            }
+            Booking booking = new Booking();
+            booking.setHotel(hotelRepository.getReferenceById(hotelId));
+            booking.setUser(user);
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkOut);
+            bookingRepository.save(booking);
+            return true;
+        }));
+    }
+
+    private static User traveler(int index) {
+        User user = new User();
+        user.setId(SeededTravelApplication.travelerId(index));
+        user.setUsername(SeededTravelApplication.travelerUsername(index));
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.model.User;
+import com.example.travel.service.HotelImportFormat;
+import com.example.travel.service.HotelImportResult;
+import com.example.travel.service.HotelImportService;
+import com.example.travel.service.HotelService;
+import com.example.travel.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of {@value #IMPORT_ROWS} CSV rows against adding hotels one at a time through
+ * {@link HotelService#addHotel}. Both report the time per hotel, so the scores compare directly;
+ * 1,000,000 divided by the score is rows per second. Each invocation adds its rows to the seeded
+ * catalogue, which is how a real import lands too.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelImportBenchmark {
+
+    static final int IMPORT_ROWS = 100_000;
+    static final int SINGLE_ROWS = 2_000;
+
+    private HotelImportService importService;
+    private HotelService hotelService;
+    private User provider;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededTravelApplication application) {
+        importService = application.bean(HotelImportService.class);
+        hotelService = application.bean(HotelService.class);
+        provider = application.bean(UserService.class).findByUsername("provider0").orElseThrow();
+
+        SplittableRandom random = new SplittableRandom(11);
+        StringBuilder builder = new StringBuilder("name,location,pricePerNight\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            String city = SeededTravelApplication.CITIES[random.nextInt(SeededTravelApplication.CITIES.length)];
+            builder.append("Imported Hotel ").append(i).append(',')
+                    .append(city).append(" Sector ").append(random.nextInt(100)).append(',')
+                    .append(BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2)).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IMPORT_ROWS)
+    public HotelImportResult bulkImport() {
+        return importService.importHotels(new ByteArrayInputStream(csv), HotelImportFormat.CSV, provider);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SINGLE_ROWS)
+    public long addHotelOneByOne() {
+        long lastId = 0;
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            lastId = hotelService.addHotel("Single Hotel " + i, "Pune Sector " + (i % 100),
+                    new BigDecimal("2500.00"), provider).getId();
+        }
+        return lastId;
+    }
+}
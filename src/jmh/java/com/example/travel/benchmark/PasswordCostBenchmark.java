@@ -0,0 +1,54 @@
+package com.example.travel.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one BCrypt hash and verification per strength, on one core. Pick
+ * {@code travel.password.bcrypt-strength} from these numbers: verify time bounds login latency,
+ * and {@code travel.password.hashing-threads} divided by it bounds logins per second.
+ * Run through {@link ServiceHotPathBenchmarkTest} ({@code mvn test -Pbenchmark}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordCostBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        stored = encoder.encode("Travel@Paradox1");
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode("Travel@Paradox1");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("Travel@Paradox1", stored);
+    }
+}
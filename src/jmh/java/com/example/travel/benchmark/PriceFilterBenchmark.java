@@ -0,0 +1,110 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.repository.projection.HotelSearchEntry;
+import com.example.travel.service.HotelSearchIndex;
+import com.example.travel.service.HotelSortOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price and location filtering over an in-memory catalogue: the old shape, a stream of
+ * {@link HotelSearchEntry} objects compared with {@link BigDecimal#compareTo}, against the columnar
+ * cents snapshot behind {@link HotelSearchIndex}. No Spring context. Run through
+ * {@link ServiceHotPathBenchmarkTest} with the GC profiler to compare allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceFilterBenchmark {
+
+    private static final int PAGE_SIZE = 21;
+
+    @Param({"100000"})
+    public int hotels;
+
+    // About half the catalogue sits under the cap (prices run 10.00 to 209.99)
+    private final BigDecimal maxPrice = new BigDecimal("110.00");
+    private final String location = "goa";
+
+    private List<HotelSearchEntry> entries;
+    private HotelSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(17);
+        entries = new ArrayList<>(hotels);
+        for (long id = 1; id <= hotels; id++) {
+            String city = SeededTravelApplication.CITIES[random.nextInt(SeededTravelApplication.CITIES.length)];
+            entries.add(new HotelSearchEntry(id, "Hotel " + id, city + " Sector " + random.nextInt(100),
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2)));
+        }
+        // The repository is only used by rebuild(); load() takes the entries directly
+        index = new HotelSearchIndex(null, true);
+        index.load(entries);
+    }
+
+    @Benchmark
+    public List<Long> priceOnlyBigDecimal() {
+        return entries.stream()
+                .filter(entry -> entry.pricePerNight().compareTo(maxPrice) <= 0)
+                .map(HotelSearchEntry::id)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Long> priceOnlyColumns() {
+        return index.findByMaxPrice(maxPrice);
+    }
+
+    @Benchmark
+    public List<Long> locationAndPriceBigDecimal() {
+        return entries.stream()
+                .filter(entry -> entry.location().toLowerCase(Locale.ROOT).contains(location))
+                .filter(entry -> entry.pricePerNight().compareTo(maxPrice) <= 0)
+                .map(HotelSearchEntry::id)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Long> locationAndPriceColumns() {
+        return index.findByLocation(location, maxPrice);
+    }
+
+    // One keyset page of the location matches in price order: sort everything, then cut
+    @Benchmark
+    public List<Long> pageByPriceBigDecimal() {
+        return entries.stream()
+                .filter(entry -> entry.location().toLowerCase(Locale.ROOT).contains(location))
+                .filter(entry -> entry.pricePerNight().compareTo(maxPrice) <= 0)
+                .sorted(Comparator.comparing(HotelSearchEntry::pricePerNight).thenComparing(HotelSearchEntry::id))
+                .limit(PAGE_SIZE)
+                .map(HotelSearchEntry::id)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Long> pageByPriceColumns() {
+        return index.findPage(location, maxPrice, HotelSortOrder.PRICE, null, PAGE_SIZE);
+    }
+}
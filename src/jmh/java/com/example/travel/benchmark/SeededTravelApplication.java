@@ -0,0 +1,142 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.TravelApplication;
+import com.example.travel.service.HotelSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the full application against an in-memory H2 database and seeds it through JDBC:
+ * providers owning {@code hotels} hotels, travelers, and {@code bookingsPerHotel} past and future
+ * bookings per hotel. Ids are assigned by the identity columns in insertion order, starting at 1.
+ */
+@State(Scope.Benchmark)
+public class SeededTravelApplication {
+
+    static final String[] CITIES = {"North Goa", "South Goa", "Mumbai", "Pune", "Manali", "Jaipur",
+            "Udaipur", "Kochi", "Shimla", "Rishikesh", "Varanasi", "Bengaluru", "Chennai", "Darjeeling"};
+    static final int PROVIDERS = 500;
+    static final int TRAVELERS = 20_000;
+    private static final int BATCH = 1_000;
+
+    @Param({"10000"})
+    public int hotels;
+
+    @Param({"20"})
+    public int bookingsPerHotel;
+
+    // Toggles the catalogue cache and the Hibernate second-level and query caches together, so searches
+    // and hotel lookups can be measured with and without caching
+    @Param({"true", "false"})
+    public boolean catalogueCache;
+
+    ConfigurableApplicationContext context;
+    LocalDate today;
+
+    @Setup(Level.Trial)
+    public void start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String cacheSize = catalogueCache ? "10000" : "0";
+        context = new SpringApplicationBuilder(TravelApplication.class)
+                // Command-line arguments, since builder properties are only defaults and application.properties
+                // would otherwise win over the H2 datasource and the cache switches
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:jmh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--travel.hotel-cache.max-hotels=" + cacheSize,
+                        "--travel.hotel-cache.max-searches=" + cacheSize,
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + catalogueCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + catalogueCache);
+        today = LocalDate.now();
+        seed(context.getBean(JdbcTemplate.class));
+        // The index loaded an empty table on startup
+        context.getBean(HotelSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    static long travelerId(int index) {
+        return PROVIDERS + 1L + index;
+    }
+
+    static String travelerUsername(int index) {
+        return "traveler" + index;
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        String password = new BCryptPasswordEncoder().encode("password");
+        Random random = new Random(42);
+
+        List<Object[]> users = new ArrayList<>(PROVIDERS + TRAVELERS);
+        for (int i = 0; i < PROVIDERS; i++) {
+            users.add(new Object[]{"provider" + i, "provider" + i + "@example.com", password, "PROVIDER",
+                    "Provider " + i, "Stays " + i});
+        }
+        for (int i = 0; i < TRAVELERS; i++) {
+            users.add(new Object[]{travelerUsername(i), travelerUsername(i) + "@example.com", password, "USER",
+                    "Traveler " + i, null});
+        }
+        batch(jdbc, "INSERT INTO users (username, email, password, role, full_name, business_name) VALUES (?, ?, ?, ?, ?, ?)", users);
+
+        List<Object[]> hotelRows = new ArrayList<>(hotels);
+        for (int i = 0; i < hotels; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            hotelRows.add(new Object[]{"Hotel " + i, city + " Sector " + random.nextInt(100),
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2), 1L + random.nextInt(PROVIDERS)});
+        }
+        batch(jdbc, "INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)", hotelRows);
+
+        // Back-to-back stays spread from a year ago to a year ahead, leaving gaps between them
+        List<Object[]> bookingRows = new ArrayList<>(BATCH);
+        for (long hotelId = 1; hotelId <= hotels; hotelId++) {
+            LocalDate checkIn = today.minusDays(365 - random.nextInt(7));
+            for (int b = 0; b < bookingsPerHotel; b++) {
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(6));
+                bookingRows.add(new Object[]{Date.valueOf(checkIn), Date.valueOf(checkOut),
+                        travelerId(random.nextInt(TRAVELERS)), hotelId});
+                checkIn = checkOut.plusDays(2 + random.nextInt(60));
+                if (bookingRows.size() == BATCH) {
+                    batch(jdbc, "INSERT INTO bookings (check_in_date, check_out_date, user_id, hotel_id) VALUES (?, ?, ?, ?)", bookingRows);
+                    bookingRows.clear();
+                }
+            }
+        }
+        batch(jdbc, "INSERT INTO bookings (check_in_date, check_out_date, user_id, hotel_id) VALUES (?, ?, ?, ?)", bookingRows);
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH)));
+        }
+    }
+}
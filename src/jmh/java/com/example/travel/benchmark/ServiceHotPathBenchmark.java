@@ -0,0 +1,118 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.service.BookingService;
+import com.example.travel.service.CustomUserDetailsService;
+import com.example.travel.service.DateRange;
+import com.example.travel.service.HotelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service-layer hot paths against {@link SeededTravelApplication}. Run through
+ * {@link ServiceHotPathBenchmarkTest} ({@code mvn test -Pbenchmark}), which also attaches the GC
+ * profiler so every result carries its allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    @State(Scope.Thread)
+    public static class Workload {
+
+        BookingService bookingService;
+        HotelService hotelService;
+        CustomUserDetailsService userDetailsService;
+        int hotels;
+        LocalDate today;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededTravelApplication application) {
+            bookingService = application.bean(BookingService.class);
+            hotelService = application.bean(HotelService.class);
+            userDetailsService = application.bean(CustomUserDetailsService.class);
+            hotels = application.hotels;
+            today = application.today;
+            random = new SplittableRandom(7);
+        }
+
+        long hotelId() {
+            return 1L + random.nextInt(hotels);
+        }
+
+        LocalDate futureDay() {
+            return today.plusDays(1 + random.nextInt(365));
+        }
+
+        User traveler() {
+            int index = random.nextInt(SeededTravelApplication.TRAVELERS);
+            User user = new User();
+            user.setId(SeededTravelApplication.travelerId(index));
+            user.setUsername(SeededTravelApplication.travelerUsername(index));
+            user.setRole(UserRole.USER);
+            return user;
+        }
+    }
+
+    // Mix of accepted bookings and conflict rejections, as the seeded calendars fill up
+    @Benchmark
+    public Object bookHotel(Workload workload) {
+        LocalDate checkIn = workload.futureDay();
+        try {
+            return workload.bookingService.bookHotel(workload.hotelId(), checkIn,
+                    checkIn.plusDays(1 + workload.random.nextInt(5)), workload.traveler());
+        } catch (InvalidBookingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean areDatesAvailable(Workload workload) {
+        LocalDate checkIn = workload.futureDay();
+        return workload.bookingService.areDatesAvailable(workload.hotelId(), checkIn,
+                checkIn.plusDays(1 + workload.random.nextInt(7)));
+    }
+
+    // A booking-page calendar: the next 90 days
+    @Benchmark
+    public List<DateRange> getUnavailableRanges(Workload workload) {
+        return workload.bookingService.getUnavailableRanges(workload.hotelId(), workload.today,
+                workload.today.plusDays(90));
+    }
+
+    @Benchmark
+    public List<Hotel> searchHotels(Workload workload) {
+        String city = SeededTravelApplication.CITIES[workload.random.nextInt(SeededTravelApplication.CITIES.length)];
+        BigDecimal maxPrice = workload.random.nextBoolean() ? null : BigDecimal.valueOf(50 + workload.random.nextInt(4) * 50L);
+        return workload.hotelService.searchHotels(city, null, maxPrice);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername(Workload workload) {
+        return workload.userDetailsService.loadUserByUsername(
+                SeededTravelApplication.travelerUsername(workload.random.nextInt(SeededTravelApplication.TRAVELERS)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.travel.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Launches the JMH service benchmarks from the {@code benchmark} profile. Pass
+ * {@code -Djmh.include=<regex>} to run a subset, e.g. {@code -Djmh.include=searchHotels}.
+ */
+@Tag("benchmark")
+@DisplayName("Service Hot Path Benchmarks")
+class ServiceHotPathBenchmarkTest {
+
+    @Test
+    void runServiceBenchmarks() throws Exception {
+        run(ServiceHotPathBenchmark.class, "target/jmh-result.json", true);
+    }
+
+    // Pure CPU, so no Spring context and no GC profiler; used to size the BCrypt strength
+    @Test
+    void runPasswordCostBenchmarks() throws Exception {
+        run(PasswordCostBenchmark.class, "target/jmh-password-cost.json", false);
+    }
+
+    @Test
+    void runHotelImportBenchmarks() throws Exception {
+        run(HotelImportBenchmark.class, "target/jmh-hotel-import.json", true);
+    }
+
+    // In-memory filtering only; the GC profiler shows what the BigDecimal path allocates per call
+    @Test
+    void runPriceFilterBenchmarks() throws Exception {
+        run(PriceFilterBenchmark.class, "target/jmh-price-filter.json", true);
+    }
+
+    // One hotel under a burst of concurrent attempts: per-request commits against a single group commit
+    @Test
+    void runBookingGroupCommitBenchmarks() throws Exception {
+        run(BookingGroupCommitBenchmark.class, "target/jmh-booking-group-commit.json", false);
+    }
+
+    // The same burst with and without the stripe lock and row lock that guard against double booking
+    @Test
+    void runBookingGuardBenchmarks() throws Exception {
+        run(BookingGuardBenchmark.class, "target/jmh-booking-guard.json", false);
+    }
+
+    private static void run(Class<?> benchmark, String resultFile, boolean profileGc) throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(benchmark.getSimpleName() + "\\." + System.getProperty("jmh.include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .shouldFailOnError(true);
+        if (profileGc) {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.travel.config;
+
+import com.example.travel.controller.api.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonApiConfig {
+
+    // API DTOs carry a field-selection filter; without a registered default Jackson refuses to write them
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionDefaults() {
+        return builder -> builder.filters(FieldSelection.ALL_FIELDS);
+    }
+}
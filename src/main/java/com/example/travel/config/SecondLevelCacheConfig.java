@@ -0,0 +1,110 @@
+package com.example.travel.config;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache regions, held in process by Caffeine through JCache.
+ * Every region is created here with its own bound; Hibernate is told to fail on any region it
+ * would otherwise create unbounded. Entries expire after a TTL as well, since writes made by
+ * another application instance never reach this cache. Hit and miss counts per region are
+ * published as the standard {@code cache.gets} meters, plus a {@code travel.cache.l2.hit.ratio}
+ * gauge, and need {@code hibernate.generate_statistics=true}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Hibernate names entity regions after the entity class and uses these two for queries
+    public static final String HOTEL_REGION = Hotel.class.getName();
+    public static final String USER_REGION = User.class.getName();
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    static final String HIT_RATIO = "travel.cache.l2.hit.ratio";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${travel.l2-cache.ttl-seconds:300}") long ttlSeconds,
+                                                @Value("${travel.l2-cache.max-hotels:10000}") long maxHotels,
+                                                @Value("${travel.l2-cache.max-users:20000}") long maxUsers,
+                                                @Value("${travel.l2-cache.max-queries:2000}") long maxQueries) {
+        // A provider instance of our own, so each application context gets its own regions
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        OptionalLong expiry = OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos());
+        cacheManager.createCache(HOTEL_REGION, region(OptionalLong.of(maxHotels), expiry));
+        cacheManager.createCache(USER_REGION, region(OptionalLong.of(maxUsers), expiry));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(OptionalLong.of(maxQueries), expiry));
+        // One entry per table; evicting one would let stale query results through, so it is never bounded
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(SessionFactory sessionFactory) {
+        return registry -> {
+            Statistics statistics = sessionFactory.getStatistics();
+            for (String region : List.of(HOTEL_REGION, USER_REGION, QUERY_RESULTS_REGION)) {
+                Tags tags = Tags.of("cache", region, "cacheManager", "hibernate");
+                CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+                if (stats == null) {
+                    continue;
+                }
+                FunctionCounter.builder("cache.gets", stats, CacheRegionStatistics::getHitCount)
+                        .tags(tags).tag("result", "hit")
+                        .description("The number of times cache lookup methods have returned a cached value.")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", stats, CacheRegionStatistics::getMissCount)
+                        .tags(tags).tag("result", "miss")
+                        .description("The number of times cache lookup methods have not returned a value")
+                        .register(registry);
+                FunctionCounter.builder("cache.puts", stats, CacheRegionStatistics::getPutCount)
+                        .tags(tags)
+                        .description("The number of entries added to the cache")
+                        .register(registry);
+                Gauge.builder(HIT_RATIO, stats, SecondLevelCacheConfig::hitRatio)
+                        .tags(tags)
+                        .description("Share of second-level cache lookups answered from the cache")
+                        .register(registry);
+            }
+        };
+    }
+
+    static double hitRatio(CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) stats.getHitCount() / lookups;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, OptionalLong expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        // Hibernate's cache entries are immutable, so copying them on every read and write buys nothing
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
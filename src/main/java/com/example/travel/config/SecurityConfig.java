@@ -1,17 +1,36 @@
 package com.example.travel.config;
 
+import com.example.travel.exception.PasswordHashingRejectedException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.security.CachingAuthenticationManager;
+import com.example.travel.security.OffloadedPasswordEncoder;
+import com.example.travel.security.PasswordHashingExecutor;
+import com.example.travel.security.TimedPasswordEncoder;
 import com.example.travel.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -20,16 +39,20 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
 
+    // The timer sits inside the offload so it measures hashing alone; queue wait is timed separately
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${travel.password.bcrypt-strength:10}") int strength,
+                                           PasswordHashingExecutor passwordHashingExecutor,
+                                           TravelMetrics metrics) {
+        return new OffloadedPasswordEncoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), metrics), passwordHashingExecutor);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -38,20 +61,78 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Shed logins answer 503 with the sign-in form; everything else is a bad username or password
+    @Bean
+    public AuthenticationFailureHandler loginFailureHandler() {
+        SimpleUrlAuthenticationFailureHandler invalidCredentials = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingRejectedException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, PasswordHashingRejectedException.RETRY_AFTER_SECONDS);
+                request.getRequestDispatcher("/login/busy").forward(request, response);
+                return;
+            }
+            invalidCredentials.onAuthenticationFailure(request, response, exception);
+        };
+    }
+
+    // Basic credentials not yet in the verified-credentials cache still go through BCrypt, so a saturated hashing
+    // pool answers 503 here as well rather than a bare 401
+    @Bean
+    public AuthenticationEntryPoint apiAuthenticationEntryPoint() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Travel Paradox API");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingRejectedException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, PasswordHashingRejectedException.RETRY_AFTER_SECONDS);
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            basic.commence(request, response, exception);
+        };
+    }
+
+    // The JSON API authenticates each request with HTTP Basic and keeps no session, so there is no cookie to forge.
+    // Verified credentials are remembered for a few minutes, so repeat calls skip BCrypt and stay off the hashing pool.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http,
+                                              AuthenticationManager authenticationManager,
+                                              @Value("${travel.api.credential-cache.ttl-seconds:300}") long credentialTtlSeconds,
+                                              @Value("${travel.api.credential-cache.max-entries:10000}") long maxCredentials) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                .authenticationManager(new CachingAuthenticationManager(
+                        authenticationManager, Duration.ofSeconds(credentialTtlSeconds), maxCredentials))
+                .authorizeHttpRequests(authz -> authz
+                        .requestMatchers(HttpMethod.GET, "/api/v1/hotels/**").hasAnyRole("USER", "PROVIDER")
+                        .requestMatchers("/api/v1/bookings/**").hasRole("USER")
+                        .anyRequest().denyAll()
+                )
+                .httpBasic(basic -> basic.authenticationEntryPoint(apiAuthenticationEntryPoint()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
         .authorizeHttpRequests(authz -> authz
-            .requestMatchers("/register", "/register/user", "/login", "/css/**", "/js/**", "/images/**").permitAll()
+            .requestMatchers("/register", "/register/user", "/login", "/login/busy", "/css/**", "/js/**", "/images/**").permitAll()
+                        // Only reachable on the loopback management port; the public port has no actuator endpoints
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/hotels/search", "/hotels/view/**").hasAnyRole("USER", "PROVIDER")
-                        .requestMatchers("/hotels/manage", "/hotels/add", "/hotels/edit/**", "/hotels/delete/**").hasRole("PROVIDER")
-                        .requestMatchers("/bookings/create/**", "/bookings/my-bookings", "/bookings/cancel/**").hasRole("USER")
-                        .requestMatchers("/bookings/hotel-bookings", "/bookings/hotel/**").hasRole("PROVIDER")
+                        .requestMatchers("/hotels/manage", "/hotels/add", "/hotels/import", "/hotels/edit/**", "/hotels/delete/**").hasRole("PROVIDER")
+                        .requestMatchers("/bookings/create/**", "/bookings/requests/**", "/bookings/my-bookings", "/bookings/cancel/**").hasRole("USER")
+                        .requestMatchers("/bookings/hotel-bookings", "/bookings/hotel-bookings/export", "/bookings/hotel/**").hasRole("PROVIDER")
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/dashboard", true)
+                        .failureHandler(loginFailureHandler())
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -1,8 +1,11 @@
 package com.example.travel.controller;
 
+import com.example.travel.exception.PasswordHashingRejectedException;
 import com.example.travel.model.UserRole;
 import com.example.travel.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -10,6 +13,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -21,6 +25,8 @@ import jakarta.validation.constraints.Size;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String BUSY_MESSAGE = "We are handling a lot of sign-ins right now. Please try again in a moment.";
+
     private final UserService userService;
 
     @GetMapping("/register")
@@ -43,7 +49,8 @@ public class AuthController {
     public String registerUser(@Valid @ModelAttribute("user") UserRegistrationDto userDto,
                               BindingResult bindingResult,
                               Model model,
-                              RedirectAttributes redirectAttributes) {
+                              RedirectAttributes redirectAttributes,
+                              HttpServletResponse response) {
 
         userDto.setRole(UserRole.PROVIDER);
         validateProviderDetails(userDto, bindingResult);
@@ -66,6 +73,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", e.getMessage());
             return "auth/register";
+        } catch (PasswordHashingRejectedException e) {
+            rejectAsBusy(model, response);
+            return "auth/register";
         }
     }
 
@@ -73,7 +83,8 @@ public class AuthController {
     public String registerStandardUser(@Valid @ModelAttribute("user") UserRegistrationDto userDto,
                                        BindingResult bindingResult,
                                        Model model,
-                                       RedirectAttributes redirectAttributes) {
+                                       RedirectAttributes redirectAttributes,
+                                       HttpServletResponse response) {
 
         userDto.setRole(UserRole.USER);
 
@@ -94,6 +105,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", e.getMessage());
             return "auth/register-user";
+        } catch (PasswordHashingRejectedException e) {
+            rejectAsBusy(model, response);
+            return "auth/register-user";
         }
     }
 
@@ -110,6 +124,19 @@ public class AuthController {
         return "auth/login";
     }
 
+    // Forwarded here by the login failure handler when password verification was shed
+    @RequestMapping("/login/busy")
+    public String showBusyLoginForm(Model model, HttpServletResponse response) {
+        rejectAsBusy(model, response);
+        return "auth/login";
+    }
+
+    private void rejectAsBusy(Model model, HttpServletResponse response) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, PasswordHashingRejectedException.RETRY_AFTER_SECONDS);
+        model.addAttribute("error", BUSY_MESSAGE);
+    }
+
     private void validateProviderDetails(UserRegistrationDto userDto, BindingResult bindingResult) {
         if (userDto.getRole() != UserRole.PROVIDER) {
             return;
@@ -5,11 +5,24 @@ import com.example.travel.model.Booking;
 import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.model.UserRole;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.service.BookingConflictSummary;
+import com.example.travel.service.BookingExportFormat;
+import com.example.travel.service.BookingExportService;
+import com.example.travel.service.BookingIntakeService;
+import com.example.travel.service.BookingRequestStatus;
 import com.example.travel.service.BookingService;
+import com.example.travel.service.DateRange;
 import com.example.travel.service.HotelService;
-import com.example.travel.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,26 +30,38 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_CALENDAR_DAYS = 365;
+    private static final int MAX_CALENDAR_DAYS = 2 * 366;
+
     private final BookingService bookingService;
     private final HotelService hotelService;
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
+    private final BookingExportService bookingExportService;
+    private final BookingIntakeService bookingIntakeService;
 
     // USER endpoints
     @GetMapping("/create/{hotelId}")
     public String showBookingForm(@PathVariable Long hotelId,
+                                  @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                                  @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
                                   Authentication authentication,
                                   Model model,
                                   RedirectAttributes redirectAttributes) {
@@ -53,8 +78,14 @@ public class BookingController {
 
             validateUserRole(currentUser, UserRole.USER);
 
+            // Pre-filled when the user arrives from an availability search
+            BookingDto booking = new BookingDto();
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkOut);
             model.addAttribute("hotel", hotel);
-            model.addAttribute("booking", new BookingDto());
+            model.addAttribute("booking", booking);
+            // Sent back with the form; every resubmission of this form is the same booking request
+            model.addAttribute("requestKey", UUID.randomUUID().toString());
 
             // Add helpful information for users
             model.addAttribute("today", LocalDate.now());
@@ -77,10 +108,15 @@ public class BookingController {
     public String createBooking(@PathVariable Long hotelId,
                                @Valid @ModelAttribute("booking") BookingDto bookingDto,
                                BindingResult bindingResult,
+                               @RequestParam(required = false) String requestKey,
                                Authentication authentication,
                                Model model,
-                               RedirectAttributes redirectAttributes) {
+                               RedirectAttributes redirectAttributes,
+                               HttpServletResponse response) {
 
+        // Clients that do not send a key still get the asynchronous flow, just without de-duplication
+        String key = (requestKey != null && !requestKey.isBlank()) ? requestKey : UUID.randomUUID().toString();
+        model.addAttribute("requestKey", key);
         try {
             User currentUser = getCurrentUser(authentication);
             Hotel hotel = hotelService.findById(hotelId)
@@ -98,17 +134,23 @@ public class BookingController {
                 return "bookings/create";
             }
 
-            bookingService.bookHotel(hotelId, bookingDto.getCheckInDate(),
-                                   bookingDto.getCheckOutDate(), currentUser);
-            redirectAttributes.addFlashAttribute("success", "Booking created successfully!");
-            return "redirect:/bookings/my-bookings";
+            bookingIntakeService.submit(key, hotelId, bookingDto.getCheckInDate(),
+                                        bookingDto.getCheckOutDate(), currentUser);
+            return "redirect:/bookings/requests/" + key;
         } catch (HotelNotFoundException e) {
             redirectAttributes.addFlashAttribute("error", "Hotel not found");
             return "redirect:/hotels/search";
-        } catch (InvalidBookingException | ValidationException e) {
+        } catch (ValidationException | BookingQueueFullException e) {
             try {
                 Hotel hotel = hotelService.findById(hotelId)
                         .orElseThrow(() -> new HotelNotFoundException(hotelId));
+                if (e instanceof BookingQueueFullException) {
+                    // Nothing was queued; a retry with the same key is a fresh attempt
+                    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                    response.setHeader(HttpHeaders.RETRY_AFTER, BookingQueueFullException.RETRY_AFTER_SECONDS);
+                } else {
+                    model.addAttribute("requestKey", UUID.randomUUID().toString());
+                }
                 model.addAttribute("hotel", hotel);
                 model.addAttribute("error", e.getMessage());
                 return "bookings/create";
@@ -125,14 +167,63 @@ public class BookingController {
         }
     }
 
+    // Status page the booking form redirects to; it refreshes itself until a worker has run the request
+    @GetMapping("/requests/{key}")
+    public String showBookingRequest(@PathVariable String key,
+                                     Authentication authentication,
+                                     Model model,
+                                     RedirectAttributes redirectAttributes) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            validateUserRole(currentUser, UserRole.USER);
+
+            BookingRequestStatus status = bookingIntakeService.find(key, currentUser).orElse(null);
+            if (status == null) {
+                redirectAttributes.addFlashAttribute("error",
+                        "This booking request is no longer tracked. Check your bookings below before trying again.");
+                return "redirect:/bookings/my-bookings";
+            }
+            if (status.state() == BookingRequestStatus.State.CONFIRMED) {
+                redirectAttributes.addFlashAttribute("success", "Booking created successfully!");
+                return "redirect:/bookings/my-bookings";
+            }
+
+            model.addAttribute("bookingRequest", status);
+            model.addAttribute("hotel", hotelService.findById(status.hotelId()).orElse(null));
+            if (status.state() == BookingRequestStatus.State.CONFLICT) {
+                model.addAttribute("error", describeConflict(status.hotelId(), status.checkInDate(),
+                        status.checkOutDate(), status.message()));
+            } else if (status.state() == BookingRequestStatus.State.REJECTED) {
+                model.addAttribute("error", status.message());
+            }
+            return "bookings/request-status";
+        } catch (UnauthorizedAccessException e) {
+            redirectAttributes.addFlashAttribute("error", "Please log in with a traveler account to book hotels.");
+            return "redirect:/login";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Unable to load booking request: " + e.getMessage());
+            return "redirect:/bookings/my-bookings";
+        }
+    }
+
+    // Upcoming and past stays page independently, so a long history never loads in one go
     @GetMapping("/my-bookings")
-    public String listMyBookings(Authentication authentication, Model model, RedirectAttributes redirectAttributes) {
+    public String listMyBookings(@RequestParam(defaultValue = "0") int upcomingPage,
+                                 @RequestParam(defaultValue = "0") int pastPage,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 Authentication authentication,
+                                 Model model,
+                                 RedirectAttributes redirectAttributes) {
         try {
             User currentUser = getCurrentUser(authentication);
             validateUserRole(currentUser, UserRole.USER);
 
-            List<Booking> bookings = bookingService.getBookingsByUser(currentUser);
-            model.addAttribute("bookings", bookings);
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            model.addAttribute("upcomingBookings",
+                    bookingService.getUpcomingBookings(currentUser, PageRequest.of(Math.max(upcomingPage, 0), pageSize)));
+            model.addAttribute("pastBookings",
+                    bookingService.getPastBookings(currentUser, PageRequest.of(Math.max(pastPage, 0), pageSize)));
+            model.addAttribute("today", LocalDate.now());
             return "bookings/my-bookings";
         } catch (UnauthorizedAccessException e) {
             redirectAttributes.addFlashAttribute("error", "Please log in with a traveler account to view your bookings.");
@@ -170,13 +261,19 @@ public class BookingController {
 
     // PROVIDER endpoints
     @GetMapping("/hotel-bookings")
-    public String listHotelBookings(Authentication authentication, Model model, RedirectAttributes redirectAttributes) {
+    public String listHotelBookings(@RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "50") int size,
+                                    Authentication authentication,
+                                    Model model,
+                                    RedirectAttributes redirectAttributes) {
         try {
             User currentUser = getCurrentUser(authentication);
             validateUserRole(currentUser, UserRole.PROVIDER);
 
-            List<Booking> bookings = bookingService.getBookingsByProvider(currentUser);
-            model.addAttribute("bookings", bookings);
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            Page<Booking> bookingPage = bookingService.getBookingsByProvider(currentUser, pageable);
+            model.addAttribute("bookings", bookingPage.getContent());
+            model.addAttribute("bookingPage", bookingPage);
             return "bookings/hotel-bookings";
         } catch (UnauthorizedAccessException e) {
             redirectAttributes.addFlashAttribute("error", "Please log in with a provider account to view these bookings.");
@@ -187,6 +284,33 @@ public class BookingController {
         }
     }
 
+    // Full booking history as a download, streamed from the database as it is written
+    @GetMapping("/hotel-bookings/export")
+    public void exportHotelBookings(@RequestParam(defaultValue = "csv") String format,
+                                    Authentication authentication,
+                                    HttpServletResponse response) throws IOException {
+        User currentUser;
+        BookingExportFormat exportFormat;
+        try {
+            currentUser = getCurrentUser(authentication);
+            validateUserRole(currentUser, UserRole.PROVIDER);
+            exportFormat = BookingExportFormat.fromParameter(format);
+        } catch (UnauthorizedAccessException e) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        } catch (ValidationException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("bookings-" + LocalDate.now() + "." + exportFormat.extension())
+                .build().toString());
+        bookingExportService.exportProviderBookings(currentUser, exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/hotel/{hotelId}")
     public String listBookingsForHotel(@PathVariable Long hotelId,
                                       Authentication authentication,
@@ -233,14 +357,44 @@ public class BookingController {
         }
     }
 
+    // Booked ranges for the booking page calendar; each range's "to" date is the first free day
+    @GetMapping("/calendar/{hotelId}")
+    @ResponseBody
+    public ResponseEntity<AvailabilityCalendar> availabilityCalendar(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_CALENDAR_DAYS);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) > MAX_CALENDAR_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<DateRange> unavailable = bookingService.getUnavailableRanges(hotelId, start, end);
+            return ResponseEntity.ok(new AvailabilityCalendar(hotelId, start, end, unavailable));
+        } catch (HotelNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private String describeConflict(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate, String message) {
+        BookingConflictSummary summary = bookingService.getConflictSummary(hotelId, checkInDate, checkOutDate);
+        if (!summary.hasConflict()) {
+            return message;
+        }
+        return String.format("%d of your %d requested days overlap %d existing booking%s. %s",
+                summary.bookedDays(), ChronoUnit.DAYS.between(checkInDate, checkOutDate) + 1,
+                summary.conflictingBookings(), summary.conflictingBookings() == 1 ? "" : "s", message);
+    }
+
     private User getCurrentUser(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw UnauthorizedAccessException.forAction("access bookings without logging in");
         }
 
         try {
-            String username = authentication.getName();
-            return userService.findByUsername(username)
+            return currentUserResolver.resolve(authentication)
                     .orElseThrow(() -> new RuntimeException("User not found"));
         } catch (Exception e) {
             throw new RuntimeException("Unable to get current user", e);
@@ -260,6 +414,9 @@ public class BookingController {
         return "redirect:/hotels/search";
     }
 
+    public record AvailabilityCalendar(Long hotelId, LocalDate from, LocalDate to, List<DateRange> unavailable) {
+    }
+
     // DTO class for booking form
     public static class BookingDto {
         @DateTimeFormat(pattern = "yyyy-MM-dd")
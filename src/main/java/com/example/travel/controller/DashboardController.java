@@ -2,28 +2,38 @@ package com.example.travel.controller;
 
 import com.example.travel.model.User;
 import com.example.travel.model.UserRole;
-import com.example.travel.service.UserService;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.service.ProviderDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
+    private final ProviderDashboardService providerDashboardService;
 
     @GetMapping("/dashboard")
-    public String dashboard(Authentication authentication) {
-        User currentUser = userService.findByUsername(authentication.getName())
+    public String dashboard(Authentication authentication, Model model, RedirectAttributes redirectAttributes) {
+        User currentUser = currentUserResolver.resolve(authentication)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (currentUser.getRole() == UserRole.PROVIDER) {
-            return "redirect:/hotels/manage";
-        } else {
+        if (currentUser.getRole() != UserRole.PROVIDER) {
             return "redirect:/hotels/search";
         }
+
+        try {
+            model.addAttribute("dashboard", providerDashboardService.getDashboard(currentUser));
+            return "dashboard/provider";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Unable to load dashboard: " + e.getMessage());
+            return "redirect:/hotels/manage";
+        }
     }
 
     @GetMapping("/")
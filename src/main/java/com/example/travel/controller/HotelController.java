@@ -4,15 +4,25 @@ import com.example.travel.exception.*;
 import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.model.UserRole;
+import com.example.travel.repository.projection.HotelCatalogueVersion;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.service.HotelImportFormat;
+import com.example.travel.service.HotelImportResult;
+import com.example.travel.service.HotelImportService;
+import com.example.travel.service.HotelSearchPage;
 import com.example.travel.service.HotelService;
-import com.example.travel.service.UserService;
+import com.example.travel.service.HotelSortOrder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
@@ -20,7 +30,9 @@ import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Controller
@@ -28,8 +40,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class HotelController {
 
+    private static final int SEARCH_PAGE_SIZE = 24;
+
     private final HotelService hotelService;
-    private final UserService userService;
+    private final HotelImportService hotelImportService;
+    private final CurrentUserResolver currentUserResolver;
 
     // PROVIDER endpoints
     @GetMapping("/manage")
@@ -94,6 +109,51 @@ public class HotelController {
         }
     }
 
+    @GetMapping("/import")
+    public String showImportForm(Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            validateUserRole(currentUser, UserRole.PROVIDER);
+            return "hotels/import";
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/hotels/search";
+        }
+    }
+
+    @PostMapping("/import")
+    public String importHotels(@RequestParam("file") MultipartFile file,
+                               Authentication authentication,
+                               Model model) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            validateUserRole(currentUser, UserRole.PROVIDER);
+
+            if (file.isEmpty()) {
+                model.addAttribute("error", "Please choose a CSV or JSON file to import");
+                return "hotels/import";
+            }
+
+            HotelImportFormat format = HotelImportFormat.detect(file.getContentType(), file.getOriginalFilename());
+            HotelImportResult result;
+            try (InputStream input = file.getInputStream()) {
+                result = hotelImportService.importHotels(input, format, currentUser);
+            }
+            model.addAttribute("result", result);
+            if (result.imported() > 0) {
+                model.addAttribute("success", result.imported() + " hotels imported successfully!");
+            }
+            return "hotels/import";
+        } catch (ValidationException e) {
+            model.addAttribute("error", e.getMessage());
+            return "hotels/import";
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/hotels/search";
+        } catch (Exception e) {
+            model.addAttribute("error", "Error importing hotels: " + e.getMessage());
+            return "hotels/import";
+        }
+    }
+
     @GetMapping("/edit/{id}")
     public String showEditHotelForm(@PathVariable Long id, Authentication authentication, Model model) {
         try {
@@ -188,21 +248,81 @@ public class HotelController {
     @GetMapping("/search")
     public String searchHotels(@RequestParam(required = false) String location,
                               @RequestParam(required = false) BigDecimal maxPrice,
-                              Model model) {
+                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkOut,
+                              @RequestParam(required = false) String sort,
+                              @RequestParam(required = false) String cursor,
+                              Model model,
+                              ServletWebRequest webRequest) {
+        HotelSortOrder sortOrder = HotelSortOrder.fromParameter(sort);
+
+        // Dates only filter once both are valid; otherwise explain why and list hotels regardless of availability
+        boolean byDates = checkIn != null || checkOut != null;
+
+        // Catalogue searches only change when a hotel does, so a revalidation is settled before searching or rendering.
+        // Date searches also depend on bookings and flash messages are shown once, so neither is ever answered with a 304.
+        if (!byDates && RequestContextUtils.getInputFlashMap(webRequest.getRequest()) == null) {
+            HotelPageCaching.applyPolicy(webRequest);
+            HotelCatalogueVersion catalogue = hotelService.getCatalogueVersion();
+            String etag = HotelPageCaching.etag(webRequest, "search", catalogue.hotels(), catalogue.versions(),
+                    catalogue.lastModified(), LocalDate.now());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        if (byDates) {
+            try {
+                hotelService.validateStayDates(checkIn, checkOut);
+            } catch (ValidationException | InvalidBookingException e) {
+                model.addAttribute("error", e.getMessage());
+                byDates = false;
+            }
+        }
 
-        List<Hotel> hotels = hotelService.searchHotels(location, null, maxPrice);
-        model.addAttribute("hotels", hotels);
+        // A stale cursor falls back to the first page, which the pager must then treat as such
+        String effectiveCursor = cursor;
+        HotelSearchPage page;
+        try {
+            page = search(location, maxPrice, byDates, checkIn, checkOut, sortOrder, effectiveCursor);
+        } catch (ValidationException e) {
+            model.addAttribute("error", "Your search position has expired, showing the first page again.");
+            effectiveCursor = null;
+            page = search(location, maxPrice, byDates, checkIn, checkOut, sortOrder, null);
+        }
+
+        model.addAttribute("hotels", page.hotels());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("firstPage", effectiveCursor == null || effectiveCursor.isBlank());
         model.addAttribute("location", location);
         model.addAttribute("maxPrice", maxPrice);
+        model.addAttribute("checkIn", checkIn);
+        model.addAttribute("checkOut", checkOut);
+        model.addAttribute("availabilitySearch", byDates);
+        model.addAttribute("today", LocalDate.now());
+        model.addAttribute("sort", sortOrder);
         return "hotels/search";
     }
 
+    private HotelSearchPage search(String location, BigDecimal maxPrice, boolean byDates, LocalDate checkIn,
+                                   LocalDate checkOut, HotelSortOrder sort, String cursor) {
+        return byDates
+                ? hotelService.searchAvailableHotels(location, maxPrice, checkIn, checkOut, sort, cursor, SEARCH_PAGE_SIZE)
+                : hotelService.searchHotels(location, maxPrice, sort, cursor, SEARCH_PAGE_SIZE);
+    }
+
     @GetMapping("/view/{id}")
-    public String viewHotel(@PathVariable Long id, Model model) {
+    public String viewHotel(@PathVariable Long id, Model model, ServletWebRequest webRequest) {
         try {
             Hotel hotel = hotelService.findById(id)
                     .orElseThrow(() -> new HotelNotFoundException(id));
-            
+
+            // The lookup above is served from the catalogue cache, so an unchanged hotel costs no query and no render
+            HotelPageCaching.applyPolicy(webRequest);
+            String etag = HotelPageCaching.etag(webRequest, "hotel", hotel.getId(), hotel.getVersion());
+            if (webRequest.checkNotModified(etag, HotelPageCaching.lastModified(hotel.getUpdatedAt()))) {
+                return null;
+            }
+
             model.addAttribute("hotel", hotel);
             return "hotels/view";
         } catch (HotelNotFoundException e) {
@@ -215,8 +335,7 @@ public class HotelController {
     }
 
     private User getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        return userService.findByUsername(username)
+        return currentUserResolver.resolve(authentication)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
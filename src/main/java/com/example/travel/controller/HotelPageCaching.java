@@ -0,0 +1,59 @@
+package com.example.travel.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Validators and cache policy for the hotel pages. A page is rendered for one session (the
+ * navigation depends on the role and the logout form carries the session's CSRF token), so the
+ * session is folded into every tag and responses are marked private: a fronting CDN passes them
+ * through without storing them, and the browser keeps its copy and revalidates it on each visit.
+ */
+final class HotelPageCaching {
+
+    static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private HotelPageCaching() {
+    }
+
+    // Set before the conditional check so 304s carry the same policy; Spring Security leaves an existing value alone
+    static void applyPolicy(ServletWebRequest webRequest) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+    }
+
+    /**
+     * Strong entity tag over the given state of the page and the current session. The session id
+     * only enters through a digest, so it never appears in a response header.
+     */
+    static String etag(ServletWebRequest webRequest, Object... state) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : state) {
+            key.append(part).append('|');
+        }
+        HttpSession session = webRequest.getRequest().getSession(false);
+        key.append(session != null ? session.getId() : "");
+        return '"' + HexFormat.of().formatHex(sha256(key.toString()), 0, 16) + '"';
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.exception.BookingCancellationException;
+import com.example.travel.exception.BookingConflictException;
+import com.example.travel.exception.BookingNotFoundException;
+import com.example.travel.exception.BookingQueueFullException;
+import com.example.travel.exception.BookingRequestKeyReusedException;
+import com.example.travel.exception.HotelNotFoundException;
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.exception.UnauthorizedAccessException;
+import com.example.travel.exception.ValidationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Domain exceptions from the JSON API as RFC 9457 problem details; malformed requests are handled
+ * by the base class. Scoped to the API controllers, so the HTML pages keep their own error handling.
+ */
+@RestControllerAdvice(basePackageClasses = ApiExceptionHandler.class)
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler({HotelNotFoundException.class, BookingNotFoundException.class})
+    public ProblemDetail handleNotFound(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(BookingConflictException.class)
+    public ProblemDetail handleConflict(BookingConflictException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    // A key is bound to the hotel and dates it was first sent with; 422 tells the client to mint a new one
+    @ExceptionHandler(BookingRequestKeyReusedException.class)
+    public ProblemDetail handleKeyReused(BookingRequestKeyReusedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+    }
+
+    // Nothing was queued, so a retry with the same key is a fresh attempt
+    @ExceptionHandler(BookingQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleQueueFull(BookingQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, BookingQueueFullException.RETRY_AFTER_SECONDS)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    @ExceptionHandler({InvalidBookingException.class, ValidationException.class, BookingCancellationException.class})
+    public ProblemDetail handleBadRequest(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(UnauthorizedAccessException.class)
+    public ProblemDetail handleForbidden(UnauthorizedAccessException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+}
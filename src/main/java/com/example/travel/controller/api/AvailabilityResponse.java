@@ -0,0 +1,13 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.service.DateRange;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Booked days of a hotel within [from, to], both days inclusive like a stay. Each range's {@code to}
+ * is the first free day after it. {@code available} is true when no day of the window is booked.
+ */
+public record AvailabilityResponse(Long hotelId, LocalDate from, LocalDate to, boolean available, List<DateRange> unavailable) {
+}
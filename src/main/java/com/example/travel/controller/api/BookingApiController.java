@@ -0,0 +1,107 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.exception.BookingNotFoundException;
+import com.example.travel.exception.UnauthorizedAccessException;
+import com.example.travel.exception.ValidationException;
+import com.example.travel.model.User;
+import com.example.travel.repository.projection.BookingSummary;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.service.BookingIntakeService;
+import com.example.travel.service.BookingRequestStatus;
+import com.example.travel.service.BookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * The caller's bookings as JSON, over the same services as {@code BookingController}. New bookings
+ * go through the same idempotent intake as the booking form: each POST carries an
+ * {@code Idempotency-Key} header, and a retry with the same key gets the original request's status
+ * back instead of booking again. The answer is 202 while the request is queued and 200 once it has
+ * an outcome, with a {@code Location} to poll in either case.
+ */
+@RestController
+@RequestMapping("/api/v1/bookings")
+@RequiredArgsConstructor
+public class BookingApiController {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final BookingService bookingService;
+    private final BookingIntakeService bookingIntakeService;
+    private final CurrentUserResolver currentUserResolver;
+
+    // scope=upcoming lists stays from today on, soonest first; scope=past the earlier ones, most recent first
+    @GetMapping
+    public MappingJacksonValue listBookings(@RequestParam(defaultValue = "upcoming") String scope,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                            @RequestParam(required = false) String fields,
+                                            Authentication authentication) {
+        User currentUser = getCurrentUser(authentication);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Page<BookingSummary> bookings = switch (scope) {
+            case "upcoming" -> bookingService.getUpcomingBookings(currentUser, pageable);
+            case "past" -> bookingService.getPastBookings(currentUser, pageable);
+            default -> throw new ValidationException("scope must be 'upcoming' or 'past'");
+        };
+
+        BookingPageResponse body = new BookingPageResponse(bookings.map(BookingResponse::of).getContent(),
+                bookings.getNumber(), bookings.getSize(), bookings.getTotalElements(), bookings.getTotalPages());
+        return FieldSelection.apply(body, fields);
+    }
+
+    @PostMapping
+    public ResponseEntity<BookingRequestResponse> createBooking(@RequestHeader(IDEMPOTENCY_KEY) String key,
+                                                                @Valid @RequestBody CreateBookingRequest request,
+                                                                Authentication authentication) {
+        User currentUser = getCurrentUser(authentication);
+        BookingRequestStatus status = bookingIntakeService.submit(key, request.hotelId(),
+                request.checkInDate(), request.checkOutDate(), currentUser);
+        return toResponse(status);
+    }
+
+    @GetMapping("/requests/{key}")
+    public ResponseEntity<BookingRequestResponse> getBookingRequest(@PathVariable String key, Authentication authentication) {
+        BookingRequestStatus status = bookingIntakeService.find(key, getCurrentUser(authentication))
+                .orElseThrow(() -> new BookingNotFoundException("No booking request is tracked for key: " + key));
+        return toResponse(status);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelBooking(@PathVariable Long id, Authentication authentication) {
+        bookingService.cancelBooking(id, getCurrentUser(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<BookingRequestResponse> toResponse(BookingRequestStatus status) {
+        return ResponseEntity.status(status.isDone() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/bookings/requests/" + status.key()))
+                .body(BookingRequestResponse.of(status));
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        return currentUserResolver.resolve(authentication)
+                .orElseThrow(() -> UnauthorizedAccessException.forAction("access bookings without logging in"));
+    }
+}
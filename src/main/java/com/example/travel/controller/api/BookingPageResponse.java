@@ -0,0 +1,9 @@
+package com.example.travel.controller.api;
+
+import java.util.List;
+
+/**
+ * One page of the caller's bookings, numbered from zero.
+ */
+public record BookingPageResponse(List<BookingResponse> items, int page, int size, long totalElements, int totalPages) {
+}
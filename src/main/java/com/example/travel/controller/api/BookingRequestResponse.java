@@ -0,0 +1,19 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.service.BookingRequestStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Where a booking request submitted through the API stands. {@code bookingId} is set once the
+ * request is {@code CONFIRMED}; {@code message} says why a {@code CONFLICT} or {@code REJECTED}
+ * request was not booked.
+ */
+public record BookingRequestResponse(String key, Long hotelId, LocalDate checkInDate, LocalDate checkOutDate,
+                                     BookingRequestStatus.State state, Long bookingId, String message) {
+
+    static BookingRequestResponse of(BookingRequestStatus status) {
+        return new BookingRequestResponse(status.key(), status.hotelId(), status.checkInDate(), status.checkOutDate(),
+                status.state(), status.bookingId(), status.message());
+    }
+}
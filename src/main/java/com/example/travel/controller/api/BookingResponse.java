@@ -0,0 +1,29 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.repository.projection.BookingSummary;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Booking as returned by the JSON API, with the hotel flattened in. The total is nights times the
+ * hotel's current nightly price, as on the booking pages.
+ */
+@JsonFilter(FieldSelection.FILTER)
+public record BookingResponse(Long id, Long hotelId, String hotelName, String hotelLocation, BigDecimal pricePerNight,
+                              LocalDate checkInDate, LocalDate checkOutDate, long nights, BigDecimal totalPrice) {
+
+    static BookingResponse of(BookingSummary summary) {
+        return of(summary.id(), summary.hotelId(), summary.hotelName(), summary.hotelLocation(),
+                summary.pricePerNight(), summary.checkInDate(), summary.checkOutDate());
+    }
+
+    private static BookingResponse of(Long id, Long hotelId, String hotelName, String hotelLocation, BigDecimal pricePerNight,
+                                      LocalDate checkInDate, LocalDate checkOutDate) {
+        long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        return new BookingResponse(id, hotelId, hotelName, hotelLocation, pricePerNight, checkInDate, checkOutDate,
+                nights, pricePerNight.multiply(BigDecimal.valueOf(nights)));
+    }
+}
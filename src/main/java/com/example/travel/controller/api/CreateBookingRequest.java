@@ -0,0 +1,10 @@
+package com.example.travel.controller.api;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record CreateBookingRequest(@NotNull(message = "hotelId is required") Long hotelId,
+                                   @NotNull(message = "checkInDate is required") LocalDate checkInDate,
+                                   @NotNull(message = "checkOutDate is required") LocalDate checkOutDate) {
+}
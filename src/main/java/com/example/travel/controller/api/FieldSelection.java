@@ -0,0 +1,45 @@
+package com.example.travel.controller.api;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@code ?fields=id,name} support for API responses. DTOs marked {@code @JsonFilter(FILTER)} are
+ * written with only the named properties, wherever they sit in the response; wrappers such as page
+ * metadata are always written whole. Unknown names are ignored, and no selection writes everything.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER = "fields";
+
+    // Registered on the application ObjectMapper, so filtered DTOs serialize in full outside of apply()
+    public static final SimpleFilterProvider ALL_FIELDS =
+            new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    private FieldSelection() {
+    }
+
+    public static MappingJacksonValue apply(Object body, String fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        Set<String> selected = parse(fields);
+        value.setFilters(selected.isEmpty()
+                ? ALL_FIELDS
+                : new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+        return value;
+    }
+
+    private static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
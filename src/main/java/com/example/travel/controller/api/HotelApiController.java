@@ -0,0 +1,88 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.exception.HotelNotFoundException;
+import com.example.travel.exception.ValidationException;
+import com.example.travel.model.Hotel;
+import com.example.travel.service.BookingService;
+import com.example.travel.service.DateRange;
+import com.example.travel.service.HotelSearchPage;
+import com.example.travel.service.HotelService;
+import com.example.travel.service.HotelSortOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Hotel search, lookup and availability as JSON, over the same services as {@code HotelController}.
+ */
+@RestController
+@RequestMapping("/api/v1/hotels")
+@RequiredArgsConstructor
+public class HotelApiController {
+
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_AVAILABILITY_DAYS = 365;
+    private static final int MAX_AVAILABILITY_DAYS = 2 * 366;
+
+    private final HotelService hotelService;
+    private final BookingService bookingService;
+
+    // Passing checkIn and checkOut limits the page to hotels free for that stay, as the search page does
+    @GetMapping
+    public MappingJacksonValue searchHotels(@RequestParam(required = false) String location,
+                                            @RequestParam(required = false) BigDecimal maxPrice,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+                                            @RequestParam(defaultValue = "PRICE") HotelSortOrder sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                            @RequestParam(required = false) String fields) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        HotelSearchPage page = checkIn != null || checkOut != null
+                ? hotelService.searchAvailableHotels(location, maxPrice, checkIn, checkOut, sort, cursor, pageSize)
+                : hotelService.searchHotels(location, maxPrice, sort, cursor, pageSize);
+
+        List<HotelResponse> items = page.hotels().stream().map(HotelResponse::of).toList();
+        return FieldSelection.apply(new HotelPageResponse(items, page.nextCursor()), fields);
+    }
+
+    // Served from the catalogue cache; clients holding the current version get a 304 without a body
+    @GetMapping("/{id}")
+    public ResponseEntity<MappingJacksonValue> getHotel(@PathVariable Long id,
+                                                        @RequestParam(required = false) String fields) {
+        Hotel hotel = hotelService.findById(id)
+                .orElseThrow(() -> new HotelNotFoundException(id));
+        return ResponseEntity.ok()
+                .eTag(hotel.getId() + "-" + hotel.getVersion())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(FieldSelection.apply(HotelResponse.of(hotel), fields));
+    }
+
+    @GetMapping("/{id}/availability")
+    public AvailabilityResponse getAvailability(@PathVariable Long id,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_AVAILABILITY_DAYS);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) > MAX_AVAILABILITY_DAYS) {
+            throw new ValidationException("Availability windows must end after they start and span at most "
+                    + MAX_AVAILABILITY_DAYS + " days");
+        }
+
+        List<DateRange> unavailable = bookingService.getUnavailableRanges(id, start, end);
+        return new AvailabilityResponse(id, start, end, unavailable.isEmpty(), unavailable);
+    }
+}
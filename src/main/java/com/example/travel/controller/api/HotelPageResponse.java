@@ -0,0 +1,9 @@
+package com.example.travel.controller.api;
+
+import java.util.List;
+
+/**
+ * One page of hotels; pass {@code nextCursor} back as {@code cursor} for the next page. Null on the last page.
+ */
+public record HotelPageResponse(List<HotelResponse> items, String nextCursor) {
+}
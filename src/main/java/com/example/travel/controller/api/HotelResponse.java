@@ -0,0 +1,19 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.model.Hotel;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.math.BigDecimal;
+
+/**
+ * Hotel as returned by the JSON API. Built from an already loaded hotel and its provider, which
+ * every hotel lookup and search fetches together, so serializing it never touches the database.
+ */
+@JsonFilter(FieldSelection.FILTER)
+public record HotelResponse(Long id, String name, String location, BigDecimal pricePerNight, String provider) {
+
+    static HotelResponse of(Hotel hotel) {
+        return new HotelResponse(hotel.getId(), hotel.getName(), hotel.getLocation(), hotel.getPricePerNight(),
+                hotel.getServiceProvider() != null ? hotel.getServiceProvider().getUsername() : null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.travel.exception;
+
+/**
+ * Exception thrown when the requested dates overlap an existing booking for the hotel
+ */
+public class BookingConflictException extends InvalidBookingException {
+
+    // Shared by single and grouped bookings so both report a conflict the same way
+    public static final String MESSAGE =
+            "These dates are already booked. Please contact the hotel for availability or choose different dates.";
+
+    public BookingConflictException() {
+        super(MESSAGE);
+    }
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.travel.exception;
+
+/**
+ * Exception thrown when the booking intake queue for a hotel is full and a new request was shed
+ * instead of queued. The controller answers 503 so the client retries with the same key.
+ */
+public class BookingQueueFullException extends RuntimeException {
+
+    // Sent as Retry-After with the 503; a queued booking attempt takes a few milliseconds
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public BookingQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.travel.exception;
+
+/**
+ * Exception thrown when a booking request key is sent again with a different hotel or dates
+ */
+public class BookingRequestKeyReusedException extends ValidationException {
+
+    public BookingRequestKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.travel.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Exception thrown when the password hashing pool is saturated and a hash or verification was
+ * shed instead of queued. It is an authentication exception so a rejected login reaches the
+ * form-login failure handler, which answers 503.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    // Sent as Retry-After with the 503; a queued hash clears in well under a second
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.travel.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Application meters for the booking, search and authentication hot paths. Every operation is a
+ * timer tagged with its outcome, so one series yields latency percentiles, throughput and error
+ * rate. Percentile histograms are switched on for the {@code travel} prefix in application.properties.
+ */
+@Component
+public class TravelMetrics {
+
+    public static final String BOOKING_CREATE = "travel.booking.create";
+    public static final String BOOKING_CANCEL = "travel.booking.cancel";
+    public static final String BOOKING_INTAKE = "travel.booking.intake";
+    public static final String HOTEL_SEARCH = "travel.hotel.search";
+    public static final String AUTH_LOGIN = "travel.auth.login";
+    public static final String AUTH_PASSWORD = "travel.auth.password";
+    public static final String AUTH_PASSWORD_WAIT = "travel.auth.password.wait";
+    public static final String AUTH_PASSWORD_REJECTED = "travel.auth.password.rejected";
+    public static final String VIRTUAL_THREAD_PINNED = "travel.virtual-thread.pinned";
+
+    private final MeterRegistry registry;
+
+    public TravelMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    // outcome: created, conflict, rejected or error
+    public void recordBooking(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder(BOOKING_CREATE)
+                .description("Booking requests by outcome")
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    // outcome: queued, duplicate, key_reused or queue_full
+    public void recordBookingIntake(String outcome) {
+        registry.counter(BOOKING_INTAKE, "outcome", outcome).increment();
+    }
+
+    // outcome: cancelled, not_found, forbidden, too_late or error
+    public void recordCancellation(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder(BOOKING_CANCEL)
+                .description("Booking cancellations by outcome")
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    // filter: none, location, price or location_price, or for availability searches dates, location_dates,
+    // price_dates or location_price_dates; source: cache, index, database or error
+    public void recordSearch(Timer.Sample sample, String filter, boolean paged, String source) {
+        sample.stop(Timer.builder(HOTEL_SEARCH)
+                .description("Hotel searches by filter shape and where they were answered")
+                .tag("filter", filter)
+                .tag("paged", String.valueOf(paged))
+                .tag("source", source)
+                .register(registry));
+    }
+
+    // mechanism: form or basic; outcome: success, bad_credentials, throttled or error
+    public void recordLogin(String mechanism, String outcome) {
+        registry.counter(AUTH_LOGIN, "mechanism", mechanism, "outcome", outcome).increment();
+    }
+
+    // operation: hash or verify; result: ok, match or mismatch
+    public void recordPassword(Timer.Sample sample, String operation, String result) {
+        sample.stop(Timer.builder(AUTH_PASSWORD)
+                .description("BCrypt hashing and verification")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(registry));
+    }
+
+    // Time a hash or verification spent queued for a password hashing thread
+    public void recordPasswordQueueWait(Timer.Sample sample, String operation) {
+        sample.stop(Timer.builder(AUTH_PASSWORD_WAIT)
+                .description("Time spent waiting for a password hashing thread")
+                .tag("operation", operation)
+                .register(registry));
+    }
+
+    // reason: queue_full, or timeout when a hash waited too long in the queue to start
+    public void recordPasswordRejected(String operation, String reason) {
+        registry.counter(AUTH_PASSWORD_REJECTED, "operation", operation, "reason", reason).increment();
+    }
+
+    // A virtual thread blocked while pinned to its carrier thread for longer than the reporting threshold
+    public void recordPinnedThread(Duration duration) {
+        Timer.builder(VIRTUAL_THREAD_PINNED)
+                .description("Virtual threads pinned to their carrier beyond the reporting threshold")
+                .register(registry)
+                .record(duration);
+    }
+}
@@ -4,12 +4,20 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
+// Read on every search and booking, written only by its provider; the service provider is cached
+// alongside as a foreign key and resolved from the User region
 @Entity
 @Table(name = "hotels")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +36,14 @@ public class Hotel {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal pricePerNight;
 
+    // Bumped by every update; with updatedAt it identifies the version of the hotel a page was rendered from
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_provider_id", nullable = false)
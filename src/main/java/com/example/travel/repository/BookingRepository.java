@@ -2,32 +2,100 @@ package com.example.travel.repository;
 
 import com.example.travel.model.Booking;
 import com.example.travel.model.Hotel;
-import com.example.travel.model.User;
+import com.example.travel.repository.projection.BookingExportRow;
+import com.example.travel.repository.projection.BookingStay;
+import com.example.travel.repository.projection.BookingSummary;
+import com.example.travel.repository.projection.HotelStay;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.hotel h JOIN FETCH h.serviceProvider WHERE b.user = :user")
-    List<Booking> findByUser(@Param("user") User user);
+    // Rows per round trip for streamed reads; MySQL needs useCursorFetch=true on the URL to honour it
+    String STREAM_FETCH_SIZE = "1000";
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.hotel h JOIN FETCH h.serviceProvider WHERE b.hotel = :hotel")
     List<Booking> findByHotel(@Param("hotel") Hotel hotel);
 
+    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.hotel h JOIN FETCH h.serviceProvider sp WHERE sp.id = :providerId",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.hotel.serviceProvider.id = :providerId")
+    Page<Booking> findByProviderId(@Param("providerId") Long providerId, Pageable pageable);
+
     List<Booking> findByCheckInDateBetween(LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT b FROM Booking b WHERE b.hotel = :hotel AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn))")
-    List<Booking> findConflictingBookings(@Param("hotel") Hotel hotel,
-                                         @Param("checkIn") LocalDate checkIn,
-                                         @Param("checkOut") LocalDate checkOut);
+    // Derived exists query: the database stops at the first overlapping row (LIMIT 1) and nothing is hydrated
+    boolean existsByHotelIdAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(Long hotelId,
+                                                                                       LocalDate checkOut,
+                                                                                       LocalDate checkIn);
+
+    default boolean existsConflictingBooking(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        return existsByHotelIdAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(hotelId, checkOut, checkIn);
+    }
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.hotel.id = :hotelId AND " +
+           "b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn")
+    long countConflictingBookings(@Param("hotelId") Long hotelId,
+                                  @Param("checkIn") LocalDate checkIn,
+                                  @Param("checkOut") LocalDate checkOut);
+
+    @Query("SELECT new com.example.travel.repository.projection.BookingStay(b.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.hotel.id = :hotelId")
+    List<BookingStay> findStaysByHotelId(@Param("hotelId") Long hotelId);
+
+    // Every stay of the given hotels in one round trip; feeds the provider dashboard counters
+    @Query("SELECT new com.example.travel.repository.projection.HotelStay(b.hotel.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.hotel.id IN :hotelIds")
+    List<HotelStay> findStaysByHotelIds(@Param("hotelIds") Collection<Long> hotelIds);
+
+    // Stays touching [start, end], ordered by check-in so they can be coalesced in a single pass
+    @Query("SELECT new com.example.travel.repository.projection.BookingStay(b.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.hotel.id = :hotelId AND b.checkInDate <= :end AND b.checkOutDate >= :start " +
+           "ORDER BY b.checkInDate")
+    List<BookingStay> findStaysBetween(@Param("hotelId") Long hotelId,
+                                       @Param("start") LocalDate start,
+                                       @Param("end") LocalDate end);
+
+    // Forward-only cursor over a provider's whole history; must be consumed and closed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.travel.repository.projection.BookingExportRow(" +
+           "b.id, h.id, h.name, h.location, u.username, u.email, b.checkInDate, b.checkOutDate, h.pricePerNight) " +
+           "FROM Booking b JOIN b.hotel h JOIN b.user u WHERE h.serviceProvider.id = :providerId " +
+           "ORDER BY b.checkInDate, b.id")
+    Stream<BookingExportRow> streamExportRowsByProviderId(@Param("providerId") Long providerId);
+
+    // My Bookings pages, split at today and walked along idx_bookings_user_check_in; soonest stay first
+    @Query(value = "SELECT new com.example.travel.repository.projection.BookingSummary(" +
+                   "b.id, h.id, h.name, h.location, h.pricePerNight, b.checkInDate, b.checkOutDate) " +
+                   "FROM Booking b JOIN b.hotel h WHERE b.user.id = :userId AND b.checkInDate >= :today " +
+                   "ORDER BY b.checkInDate, b.id",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId AND b.checkInDate >= :today")
+    Page<BookingSummary> findUpcomingSummariesByUserId(@Param("userId") Long userId,
+                                                       @Param("today") LocalDate today,
+                                                       Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.hotel h JOIN FETCH h.serviceProvider WHERE b.user = :user ORDER BY b.checkInDate DESC")
-    List<Booking> findByUserOrderByCheckInDateDesc(@Param("user") User user);
+    // Most recent stay first
+    @Query(value = "SELECT new com.example.travel.repository.projection.BookingSummary(" +
+                   "b.id, h.id, h.name, h.location, h.pricePerNight, b.checkInDate, b.checkOutDate) " +
+                   "FROM Booking b JOIN b.hotel h WHERE b.user.id = :userId AND b.checkInDate < :today " +
+                   "ORDER BY b.checkInDate DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId AND b.checkInDate < :today")
+    Page<BookingSummary> findPastSummariesByUserId(@Param("userId") Long userId,
+                                                   @Param("today") LocalDate today,
+                                                   Pageable pageable);
 }
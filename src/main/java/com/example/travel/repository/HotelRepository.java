@@ -2,35 +2,172 @@ package com.example.travel.repository;
 
 import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
+import com.example.travel.repository.projection.HotelCatalogueVersion;
+import com.example.travel.repository.projection.HotelSearchEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
+    String SEARCH_FILTER = "(:location IS NULL OR LOWER(h.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+                           "AND (:maxPrice IS NULL OR h.pricePerNight <= :maxPrice)";
+
+    // Anti-join against the stays overlapping [checkIn, checkOut], both days inclusive like the booking conflict check;
+    // each probe is a seek on idx_bookings_hotel_dates
+    String AVAILABLE_FILTER = SEARCH_FILTER + " AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.hotel.id = h.id " +
+                              "AND b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn)";
+
+    // Result lists of the finders marked CACHEABLE live in the query cache until a write touches the hotels
+    // or users table through Hibernate; JDBC writes must evict the query region themselves (see HotelImportService)
+    String CACHEABLE = "true";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     List<Hotel> findByServiceProvider(User serviceProvider);
 
+    // One aggregate row, answered from the query cache until the next write to the hotels table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
+    @Query("SELECT new com.example.travel.repository.projection.HotelCatalogueVersion(" +
+           "COUNT(h), SUM(h.version), MAX(h.updatedAt)) FROM Hotel h")
+    HotelCatalogueVersion findCatalogueVersion();
+
     @Query("SELECT DISTINCT h FROM Hotel h JOIN FETCH h.serviceProvider")
     List<Hotel> findAllWithServiceProvider();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE LOWER(h.location) LIKE LOWER(CONCAT('%', :location, '%'))")
     List<Hotel> findByLocationContainingIgnoreCase(@Param("location") String location);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE h.pricePerNight <= :maxPrice")
     List<Hotel> findByPricePerNightLessThanEqual(@Param("maxPrice") BigDecimal maxPrice);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE LOWER(h.location) LIKE LOWER(CONCAT('%', :location, '%')) AND h.pricePerNight <= :maxPrice")
     List<Hotel> findByLocationAndMaxPrice(@Param("location") String location, @Param("maxPrice") BigDecimal maxPrice);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE LOWER(h.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Hotel> findByNameContainingIgnoreCase(@Param("name") String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
     @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE h.id = :id")
     Optional<Hotel> findByIdWithServiceProvider(@Param("id") Long id);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE h.id IN :ids")
+    List<Hotel> findAllWithServiceProviderByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.travel.repository.projection.HotelSearchEntry(h.id, h.name, h.location, h.pricePerNight) " +
+           "FROM Hotel h ORDER BY h.id")
+    List<HotelSearchEntry> findSearchEntries();
+
+    @Query("SELECT COALESCE(MAX(h.id), 0) FROM Hotel h")
+    long findMaxId();
+
+    // Hotels a provider added after the given id, i.e. the rows of a bulk import that has just finished
+    @Query("SELECT new com.example.travel.repository.projection.HotelSearchEntry(h.id, h.name, h.location, h.pricePerNight) " +
+           "FROM Hotel h WHERE h.serviceProvider.id = :providerId AND h.id > :afterId ORDER BY h.id")
+    List<HotelSearchEntry> findSearchEntriesByProviderAfter(@Param("providerId") Long providerId,
+                                                            @Param("afterId") long afterId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hotel h WHERE h.id = :id")
+    Optional<Hotel> findByIdForUpdate(@Param("id") Long id);
+
+    // Reads the row past the second-level cache, whose copy may carry an older @Version after another
+    // instance updated the hotel, and refreshes that copy; used before updating or deleting a hotel
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT h FROM Hotel h WHERE h.id = :id")
+    Optional<Hotel> findByIdBypassingCache(@Param("id") Long id);
+
+    // Keyset (seek) pagination: the Pageable only carries the page size, ordering is fixed by the query.
+    // Only first pages are cached; later pages are keyed by an open-ended cursor and rarely repeat.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + SEARCH_FILTER +
+           " ORDER BY h.pricePerNight, h.id")
+    List<Hotel> findFirstPageByPrice(@Param("location") String location,
+                                     @Param("maxPrice") BigDecimal maxPrice,
+                                     Pageable limit);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + SEARCH_FILTER +
+           " AND (h.pricePerNight > :afterPrice OR (h.pricePerNight = :afterPrice AND h.id > :afterId))" +
+           " ORDER BY h.pricePerNight, h.id")
+    List<Hotel> findPageByPriceAfter(@Param("location") String location,
+                                     @Param("maxPrice") BigDecimal maxPrice,
+                                     @Param("afterPrice") BigDecimal afterPrice,
+                                     @Param("afterId") Long afterId,
+                                     Pageable limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = CACHEABLE))
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + SEARCH_FILTER +
+           " ORDER BY h.name, h.id")
+    List<Hotel> findFirstPageByName(@Param("location") String location,
+                                    @Param("maxPrice") BigDecimal maxPrice,
+                                    Pageable limit);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + SEARCH_FILTER +
+           " AND (h.name > :afterName OR (h.name = :afterName AND h.id > :afterId))" +
+           " ORDER BY h.name, h.id")
+    List<Hotel> findPageByNameAfter(@Param("location") String location,
+                                    @Param("maxPrice") BigDecimal maxPrice,
+                                    @Param("afterName") String afterName,
+                                    @Param("afterId") Long afterId,
+                                    Pageable limit);
+
+    // Keyset pages of hotels with no booking in the requested stay, answered in one statement per page
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + AVAILABLE_FILTER +
+           " ORDER BY h.pricePerNight, h.id")
+    List<Hotel> findFirstAvailablePageByPrice(@Param("location") String location,
+                                              @Param("maxPrice") BigDecimal maxPrice,
+                                              @Param("checkIn") LocalDate checkIn,
+                                              @Param("checkOut") LocalDate checkOut,
+                                              Pageable limit);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + AVAILABLE_FILTER +
+           " AND (h.pricePerNight > :afterPrice OR (h.pricePerNight = :afterPrice AND h.id > :afterId))" +
+           " ORDER BY h.pricePerNight, h.id")
+    List<Hotel> findAvailablePageByPriceAfter(@Param("location") String location,
+                                              @Param("maxPrice") BigDecimal maxPrice,
+                                              @Param("checkIn") LocalDate checkIn,
+                                              @Param("checkOut") LocalDate checkOut,
+                                              @Param("afterPrice") BigDecimal afterPrice,
+                                              @Param("afterId") Long afterId,
+                                              Pageable limit);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + AVAILABLE_FILTER +
+           " ORDER BY h.name, h.id")
+    List<Hotel> findFirstAvailablePageByName(@Param("location") String location,
+                                             @Param("maxPrice") BigDecimal maxPrice,
+                                             @Param("checkIn") LocalDate checkIn,
+                                             @Param("checkOut") LocalDate checkOut,
+                                             Pageable limit);
+
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.serviceProvider WHERE " + AVAILABLE_FILTER +
+           " AND (h.name > :afterName OR (h.name = :afterName AND h.id > :afterId))" +
+           " ORDER BY h.name, h.id")
+    List<Hotel> findAvailablePageByNameAfter(@Param("location") String location,
+                                             @Param("maxPrice") BigDecimal maxPrice,
+                                             @Param("checkIn") LocalDate checkIn,
+                                             @Param("checkOut") LocalDate checkOut,
+                                             @Param("afterName") String afterName,
+                                             @Param("afterId") Long afterId,
+                                             Pageable limit);
 }
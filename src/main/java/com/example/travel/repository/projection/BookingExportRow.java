@@ -0,0 +1,13 @@
+package com.example.travel.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of a provider's booking export, read as a flat projection so streaming a large history
+ * never builds up managed entities
+ */
+public record BookingExportRow(Long bookingId, Long hotelId, String hotelName, String hotelLocation,
+                               String guestUsername, String guestEmail,
+                               LocalDate checkInDate, LocalDate checkOutDate, BigDecimal pricePerNight) {
+}
@@ -0,0 +1,9 @@
+package com.example.travel.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight view of a booking's stay dates, used where only the date range matters
+ */
+public record BookingStay(Long id, LocalDate checkInDate, LocalDate checkOutDate) {
+}
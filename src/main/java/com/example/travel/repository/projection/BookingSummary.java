@@ -0,0 +1,12 @@
+package com.example.travel.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A row of the traveler's My Bookings page: just the booking and hotel columns it shows, so a
+ * page of history is read without loading Booking, Hotel or provider entities
+ */
+public record BookingSummary(Long id, Long hotelId, String hotelName, String hotelLocation,
+                             BigDecimal pricePerNight, LocalDate checkInDate, LocalDate checkOutDate) {
+}
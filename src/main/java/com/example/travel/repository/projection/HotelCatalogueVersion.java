@@ -0,0 +1,9 @@
+package com.example.travel.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fingerprint of the whole hotel catalogue: adding, updating or deleting any hotel changes at least one field
+ */
+public record HotelCatalogueVersion(Long hotels, Long versions, LocalDateTime lastModified) {
+}
@@ -0,0 +1,9 @@
+package com.example.travel.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Columns of a hotel needed to build the in-memory search index
+ */
+public record HotelSearchEntry(Long id, String name, String location, BigDecimal pricePerNight) {
+}
@@ -0,0 +1,9 @@
+package com.example.travel.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A booking's stay dates tagged with its hotel, for loading several hotels' bookings in one query
+ */
+public record HotelStay(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+}
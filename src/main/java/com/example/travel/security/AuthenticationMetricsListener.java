@@ -0,0 +1,48 @@
+package com.example.travel.security;
+
+import com.example.travel.exception.PasswordHashingRejectedException;
+import com.example.travel.metrics.TravelMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// Counts authentications by outcome from the events the authentication manager publishes. Both the
+// form login and the API's HTTP Basic checks publish them, so each is tagged with its mechanism to
+// keep API traffic out of the login rate; API calls answered from the credential cache publish nothing.
+@Component
+@RequiredArgsConstructor
+public class AuthenticationMetricsListener {
+
+    private static final String API_PATH = "/api/";
+
+    private final TravelMetrics metrics;
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        metrics.recordLogin(mechanism(), "success");
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        if (event.getException() instanceof PasswordHashingRejectedException) {
+            metrics.recordLogin(mechanism(), "throttled");
+        } else {
+            metrics.recordLogin(mechanism(),
+                    event instanceof AuthenticationFailureBadCredentialsEvent ? "bad_credentials" : "error");
+        }
+    }
+
+    // Events are published on the request thread, after RequestContextFilter has bound the request
+    private static String mechanism() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getRequest().getRequestURI().startsWith(attributes.getRequest().getContextPath() + API_PATH)) {
+            return "basic";
+        }
+        return "form";
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.travel.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers credentials the delegate has verified, so a stateless API client sending the same
+ * HTTP Basic header on every call pays for one BCrypt check per {@code ttl} instead of one per
+ * request. Only successes are cached: a wrong password always goes through the delegate and the
+ * hashing pool, so guessing costs what it does on the login form.
+ *
+ * <p>Entries are keyed by an HMAC of username and password under a key generated at startup, so
+ * neither the password nor a plain digest of it is held in memory. A password change or a deleted
+ * account is noticed once the entry expires.
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final Cache<String, Authentication> verified;
+    private final SecretKey key;
+
+    public CachingAuthenticationManager(AuthenticationManager delegate, Duration ttl, long maxEntries) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        try {
+            this.key = KeyGenerator.getInstance(HMAC).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create the credential cache key", e);
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String cacheKey = cacheKey(authentication.getName(), password);
+        Authentication cached = verified.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            verified.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    // Each part is prefixed with its byte length, so no choice of characters in the username can
+    // make one username and password encode the same bytes as another pair
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            update(mac, username.getBytes(StandardCharsets.UTF_8));
+            update(mac, password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive the credential cache key", e);
+        }
+    }
+
+    private static void update(Mac mac, byte[] part) {
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(part.length).array());
+        mac.update(part);
+    }
+}
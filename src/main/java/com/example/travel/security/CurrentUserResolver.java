@@ -0,0 +1,30 @@
+package com.example.travel.security;
+
+import com.example.travel.model.User;
+import com.example.travel.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the current request's user from the authenticated principal. Only principals that were
+ * not created by {@code CustomUserDetailsService} (e.g. test or pre-upgrade sessions) cost a lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserService userService;
+
+    public Optional<User> resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof TravelUserPrincipal principal) {
+            return Optional.of(principal.toUser());
+        }
+        return userService.findByUsername(authentication.getName());
+    }
+}
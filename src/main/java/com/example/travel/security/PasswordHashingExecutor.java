@@ -0,0 +1,117 @@
+package com.example.travel.security;
+
+import com.example.travel.exception.PasswordHashingRejectedException;
+import com.example.travel.metrics.TravelMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool that runs every BCrypt hash and verification, so a login or registration storm
+ * can occupy at most this many cores and search and booking requests keep the rest. Callers
+ * block until their hash is done; once the queue is full, or a queued hash has waited longer than
+ * the configured limit, the work is shed with a {@link PasswordHashingRejectedException}. The
+ * limit covers queue time only: a BCrypt that has started cannot be interrupted, so it always runs
+ * to completion and its caller gets the result, while one shed from the queue never runs at all.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder, AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final TravelMetrics metrics;
+
+    public PasswordHashingExecutor(@Value("${travel.password.hashing-threads:0}") int threads,
+                                   @Value("${travel.password.queue-capacity:32}") int queueCapacity,
+                                   @Value("${travel.password.max-wait-ms:2000}") long maxWaitMillis,
+                                   TravelMetrics metrics) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Password hashing queue capacity must be greater than zero");
+        }
+        // 0 means half the available cores, leaving the other half for request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = maxWaitMillis;
+        this.metrics = metrics;
+    }
+
+    // operation: hash or verify, used to tag the queue-wait timer and rejection counter
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer.Sample queued = metrics.start();
+        // Taken by the worker when the hash starts, or by the caller when it gives up on the queue
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                metrics.recordPasswordQueueWait(queued, operation);
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            metrics.recordPasswordRejected(operation, "queue_full");
+            throw new PasswordHashingRejectedException("Password hashing queue is full", e);
+        }
+
+        try {
+            try {
+                return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (abandon(claimed, future)) {
+                    metrics.recordPasswordRejected(operation, "timeout");
+                    throw new PasswordHashingRejectedException("Password hashing waited more than " + maxWaitMillis + "ms in the queue", e);
+                }
+                // Already hashing, which takes bounded time; shedding it now would free nothing
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            abandon(claimed, future);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // True if the task had not started; it is then dropped from the queue so its slot goes to the next caller
+    private boolean abandon(AtomicBoolean claimed, Future<?> future) {
+        if (!claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.remove((Runnable) future);
+        return true;
+    }
+
+    // Publishes pool size, active threads and queue depth as executor.* meters
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.travel.security;
+
+import com.example.travel.metrics.TravelMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times every hash and verification of the delegate encoder. BCrypt is deliberately slow, so these
+ * timers are the bulk of both login and registration latency.
+ */
+@RequiredArgsConstructor
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final TravelMetrics metrics;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = metrics.start();
+        String encoded = delegate.encode(rawPassword);
+        metrics.recordPassword(sample, "hash", "ok");
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = metrics.start();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        metrics.recordPassword(sample, "verify", matches ? "match" : "mismatch");
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.travel.security;
+
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Authenticated principal stored in the security context. Carries the user's id, role and display
+ * fields loaded at login, so request handlers can resolve the current user without a database lookup.
+ */
+@Getter
+public class TravelUserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final UserRole role;
+    private final String fullName;
+    private final String businessName;
+    private final String contactNumber;
+    private String password;
+
+    private TravelUserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.fullName = user.getFullName();
+        this.businessName = user.getBusinessName();
+        this.contactNumber = user.getContactNumber();
+        this.password = user.getPassword();
+    }
+
+    public static TravelUserPrincipal from(User user) {
+        return new TravelUserPrincipal(user);
+    }
+
+    // Detached User carrying the principal's fields; enough for ownership checks and as an association reference
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setFullName(fullName);
+        user.setBusinessName(businessName);
+        user.setContactNumber(contactNumber);
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TravelUserPrincipal principal && Objects.equals(username, principal.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(username);
+    }
+
+    @Override
+    public String toString() {
+        return "TravelUserPrincipal[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
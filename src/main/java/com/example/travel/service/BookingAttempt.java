@@ -0,0 +1,11 @@
+package com.example.travel.service;
+
+import com.example.travel.model.User;
+
+import java.time.LocalDate;
+
+/**
+ * One pending booking request within a group commit
+ */
+public record BookingAttempt(LocalDate checkInDate, LocalDate checkOutDate, User user) {
+}
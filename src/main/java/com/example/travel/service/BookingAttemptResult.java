@@ -0,0 +1,22 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Booking;
+
+/**
+ * Outcome of one attempt within a group commit: the saved booking, or the exception a single
+ * {@link BookingService#bookHotel} call would have thrown for it.
+ */
+public record BookingAttemptResult(Booking booking, RuntimeException failure) {
+
+    static BookingAttemptResult booked(Booking booking) {
+        return new BookingAttemptResult(booking, null);
+    }
+
+    static BookingAttemptResult failed(RuntimeException failure) {
+        return new BookingAttemptResult(null, failure);
+    }
+
+    public boolean isBooked() {
+        return booking != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.travel.service;
+
+/**
+ * Overlap between a requested stay and existing bookings: how many bookings it collides with and
+ * how many of its days (check-in through check-out) are already taken.
+ */
+public record BookingConflictSummary(long conflictingBookings, long bookedDays) {
+
+    public boolean hasConflict() {
+        return bookedDays > 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * Download formats for the provider booking export: spreadsheet-friendly CSV, or newline-delimited
+ * JSON with one booking object per line.
+ */
+public enum BookingExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    BookingExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static BookingExportFormat fromParameter(String value) {
+        for (BookingExportFormat format : values()) {
+            if (format.extension.equals(value == null ? "" : value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.travel.service;
+
+import com.example.travel.model.User;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a provider's full booking history straight from a database cursor to the caller's output
+ * stream. Rows are flat projections consumed one at a time inside a read-only transaction, so
+ * memory stays flat however many bookings the provider has.
+ */
+@Service
+public class BookingExportService {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+    private static final String CSV_HEADER = "bookingId,hotelId,hotelName,hotelLocation,guestUsername,guestEmail," +
+            "checkInDate,checkOutDate,nights,pricePerNight,revenue";
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public BookingExportService(BookingRepository bookingRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns the number of bookings written; the output stream is flushed but left open
+    public long exportProviderBookings(User provider, BookingExportFormat format, OutputStream output) {
+        try {
+            Long written = readOnlyTransaction.execute(status -> {
+                try (Stream<BookingExportRow> rows = bookingRepository.streamExportRowsByProviderId(provider.getId())) {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER);
+                    long count = format == BookingExportFormat.NDJSON
+                            ? writeNdjson(rows.iterator(), writer)
+                            : writeCsv(rows.iterator(), writer);
+                    writer.flush();
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return written != null ? written : 0;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to export bookings for provider: " + provider.getUsername(), e);
+        }
+    }
+
+    private static long writeCsv(Iterator<BookingExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            BookingExportRow row = rows.next();
+            long nights = nights(row);
+            writer.write(String.valueOf(row.bookingId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.hotelId()));
+            writer.write(',');
+            writer.write(csvText(row.hotelName()));
+            writer.write(',');
+            writer.write(csvText(row.hotelLocation()));
+            writer.write(',');
+            writer.write(csvText(row.guestUsername()));
+            writer.write(',');
+            writer.write(csvText(row.guestEmail()));
+            writer.write(',');
+            writer.write(row.checkInDate().toString());
+            writer.write(',');
+            writer.write(row.checkOutDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(nights));
+            writer.write(',');
+            writer.write(row.pricePerNight().toPlainString());
+            writer.write(',');
+            writer.write(revenue(row, nights).toPlainString());
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<BookingExportRow> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                BookingExportRow row = rows.next();
+                long nights = nights(row);
+                json.writeStartObject();
+                json.writeNumberField("bookingId", row.bookingId());
+                json.writeNumberField("hotelId", row.hotelId());
+                json.writeStringField("hotelName", row.hotelName());
+                json.writeStringField("hotelLocation", row.hotelLocation());
+                json.writeStringField("guestUsername", row.guestUsername());
+                json.writeStringField("guestEmail", row.guestEmail());
+                json.writeStringField("checkInDate", row.checkInDate().toString());
+                json.writeStringField("checkOutDate", row.checkOutDate().toString());
+                json.writeNumberField("nights", nights);
+                json.writeNumberField("pricePerNight", row.pricePerNight());
+                json.writeNumberField("revenue", revenue(row, nights));
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Same figures as the hotel bookings page: nights between the dates, times the nightly price
+    private static long nights(BookingExportRow row) {
+        return ChronoUnit.DAYS.between(row.checkInDate(), row.checkOutDate());
+    }
+
+    private static BigDecimal revenue(BookingExportRow row, long nights) {
+        return row.pricePerNight().multiply(BigDecimal.valueOf(nights));
+    }
+
+    // Quotes fields that need it, and defuses values a spreadsheet would otherwise run as a formula
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.BookingConflictException;
+import com.example.travel.exception.HotelNotFoundException;
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.exception.ValidationException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Booking;
+import com.example.travel.model.Hotel;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingStay;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Books a burst of attempts for one hotel in a single transaction. The hotel row is locked once,
+ * existing stays over the whole burst are read once, and the attempts are settled in memory in
+ * list order: an attempt wins unless it overlaps an existing stay or an earlier winner. All winners
+ * are written with one JDBC batch. Each attempt ends up with the booking or the exception that
+ * {@link BookingService#bookHotel} would have produced for it on its own, and is recorded under
+ * the same booking metrics.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingGroupCommitService {
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (check_in_date, check_out_date, user_id, hotel_id) VALUES (?, ?, ?, ?)";
+
+    private final BookingRepository bookingRepository;
+    private final HotelService hotelService;
+    private final HotelAvailabilityIndex availabilityIndex;
+    private final ProviderDashboardStats dashboardStats;
+    private final HotelLockStripes hotelLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TravelMetrics metrics;
+
+    public List<BookingAttemptResult> bookHotel(Long hotelId, List<BookingAttempt> attempts) {
+        Timer.Sample[] samples = new Timer.Sample[attempts.size()];
+        BookingAttemptResult[] results = new BookingAttemptResult[attempts.size()];
+        String[] outcomes = new String[attempts.size()];
+        List<Integer> pending = new ArrayList<>(attempts.size());
+        for (int i = 0; i < attempts.size(); i++) {
+            samples[i] = metrics.start();
+            BookingAttempt attempt = attempts.get(i);
+            try {
+                BookingService.validateBookingDates(attempt.checkInDate(), attempt.checkOutDate());
+                pending.add(i);
+            } catch (RuntimeException e) {
+                fail(results, outcomes, i, e);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            // Same stripe as BookingService, so grouped and single bookings for a hotel never interleave
+            Lock hotelLock = hotelLocks.lockFor(hotelId);
+            hotelLock.lock();
+            dashboardStats.beginChange(hotelId);
+            try {
+                BookingAttemptResult[] settled = transactionTemplate.execute(status ->
+                        createBookings(hotelId, attempts, pending));
+                for (int i : pending) {
+                    results[i] = settled[i];
+                    if (settled[i].isBooked()) {
+                        Booking booking = settled[i].booking();
+                        availabilityIndex.recordBooking(hotelId, booking.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+                        dashboardStats.recordBooking(hotelId, booking.getCheckInDate(), booking.getCheckOutDate());
+                        outcomes[i] = "created";
+                    } else {
+                        outcomes[i] = outcome(settled[i].failure());
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Nothing was committed, so every attempt that reached the transaction fails with it
+                for (int i : pending) {
+                    fail(results, outcomes, i, e);
+                }
+            } finally {
+                dashboardStats.endChange(hotelId);
+                hotelLock.unlock();
+            }
+        }
+
+        for (int i = 0; i < attempts.size(); i++) {
+            metrics.recordBooking(samples[i], outcomes[i]);
+        }
+        return Arrays.asList(results);
+    }
+
+    private BookingAttemptResult[] createBookings(Long hotelId, List<BookingAttempt> attempts, List<Integer> pending) {
+        Hotel hotel = hotelService.findById(hotelId)
+                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+        Hotel lockedHotel = hotelService.lockForBooking(hotelId);
+
+        LocalDate from = attempts.get(pending.get(0)).checkInDate();
+        LocalDate to = attempts.get(pending.get(0)).checkOutDate();
+        for (int i : pending) {
+            from = min(from, attempts.get(i).checkInDate());
+            to = max(to, attempts.get(i).checkOutDate());
+        }
+        List<BookingStay> existing = bookingRepository.findStaysBetween(hotelId, from, to);
+
+        BookingAttemptResult[] settled = new BookingAttemptResult[attempts.size()];
+        List<Booking> winners = new ArrayList<>();
+        List<Integer> winnerIndexes = new ArrayList<>();
+        for (int i : pending) {
+            BookingAttempt attempt = attempts.get(i);
+            if (hotel.getServiceProvider() != null && hotel.getServiceProvider().getId().equals(attempt.user().getId())) {
+                settled[i] = BookingAttemptResult.failed(new InvalidBookingException("You cannot book your own hotel."));
+            } else if (overlapsStay(existing, attempt) || overlapsWinner(winners, attempt)) {
+                settled[i] = BookingAttemptResult.failed(new BookingConflictException());
+            } else {
+                Booking booking = new Booking();
+                booking.setHotel(lockedHotel);
+                booking.setUser(attempt.user());
+                booking.setCheckInDate(attempt.checkInDate());
+                booking.setCheckOutDate(attempt.checkOutDate());
+                winners.add(booking);
+                winnerIndexes.add(i);
+            }
+        }
+
+        insert(hotelId, winners);
+        for (int w = 0; w < winners.size(); w++) {
+            settled[winnerIndexes.get(w)] = BookingAttemptResult.booked(winners.get(w));
+        }
+        return settled;
+    }
+
+    private void insert(Long hotelId, List<Booking> winners) {
+        if (winners.isEmpty()) {
+            return;
+        }
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        Booking booking = winners.get(index);
+                        statement.setDate(1, Date.valueOf(booking.getCheckInDate()));
+                        statement.setDate(2, Date.valueOf(booking.getCheckOutDate()));
+                        statement.setLong(3, booking.getUser().getId());
+                        statement.setLong(4, hotelId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return winners.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != winners.size()) {
+            throw new IllegalStateException("Expected " + winners.size() + " generated booking ids but got " + keyList.size());
+        }
+        for (int w = 0; w < winners.size(); w++) {
+            // MySQL names the key column GENERATED_KEY rather than id, so take the only value
+            winners.get(w).setId(((Number) keyList.get(w).values().iterator().next()).longValue());
+        }
+    }
+
+    // Inclusive overlap, matching BookingRepository.existsConflictingBooking
+    private static boolean overlapsStay(List<BookingStay> stays, BookingAttempt attempt) {
+        for (BookingStay stay : stays) {
+            if (overlaps(stay.checkInDate(), stay.checkOutDate(), attempt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlapsWinner(List<Booking> winners, BookingAttempt attempt) {
+        for (Booking winner : winners) {
+            if (overlaps(winner.getCheckInDate(), winner.getCheckOutDate(), attempt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(LocalDate checkIn, LocalDate checkOut, BookingAttempt attempt) {
+        return !checkIn.isAfter(attempt.checkOutDate()) && !checkOut.isBefore(attempt.checkInDate());
+    }
+
+    // Domain exceptions pass through and anything else is wrapped, as BookingService.bookHotel does
+    private static void fail(BookingAttemptResult[] results, String[] outcomes, int index, RuntimeException e) {
+        if (e instanceof HotelNotFoundException || e instanceof InvalidBookingException) {
+            results[index] = BookingAttemptResult.failed(e);
+            outcomes[index] = outcome(e);
+        } else {
+            results[index] = BookingAttemptResult.failed(new InvalidBookingException("Unable to process booking: " + e.getMessage(), e));
+            outcomes[index] = e instanceof ValidationException ? "rejected" : "error";
+        }
+    }
+
+    private static String outcome(RuntimeException e) {
+        return e instanceof BookingConflictException ? "conflict" : "rejected";
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
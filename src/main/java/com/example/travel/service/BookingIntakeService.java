@@ -0,0 +1,238 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.BookingConflictException;
+import com.example.travel.exception.BookingQueueFullException;
+import com.example.travel.exception.BookingRequestKeyReusedException;
+import com.example.travel.exception.ValidationException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Booking;
+import com.example.travel.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Idempotent, asynchronous intake for booking requests. The client supplies a key with each
+ * request; the first submission is queued and any later submission with the same key (a double
+ * click, a refresh, a retry) gets the original request's status back instead of a second booking
+ * attempt. A key sent again for a different hotel or dates is refused rather than answered with
+ * another request's outcome. Keys are tracked in this instance's memory only, for
+ * {@code retention-minutes}: a retry that reaches another instance, or arrives after a restart, is
+ * booked again, and only the conflict check keeps it from overlapping the first booking. Requests
+ * are drained by single-threaded lanes chosen by hotel id, so attempts for one hotel run in arrival
+ * order. A full lane sheds the request with a {@link BookingQueueFullException}. With group commit
+ * enabled, a lane takes everything waiting behind the request it picks up (up to the group size)
+ * and books each hotel's share through {@link BookingGroupCommitService} in one transaction, so a
+ * burst on a popular hotel costs one row lock and one insert batch.
+ */
+@Service
+public class BookingIntakeService implements MeterBinder, AutoCloseable {
+
+    // Keys end up in the status page URL, so they are limited to URL-safe characters
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+
+    private final BookingService bookingService;
+    private final BookingGroupCommitService groupCommitService;
+    private final TravelMetrics metrics;
+    private final boolean groupCommit;
+    private final int maxGroupSize;
+    private final ThreadPoolExecutor[] lanes;
+    // Keyed by user id and client key, so one user can never see or replay another user's request
+    private final Cache<String, BookingRequestStatus> requests;
+
+    public BookingIntakeService(BookingService bookingService,
+                                BookingGroupCommitService groupCommitService,
+                                TravelMetrics metrics,
+                                @Value("${travel.booking.intake.workers:4}") int workers,
+                                @Value("${travel.booking.intake.queue-capacity:256}") int queueCapacity,
+                                @Value("${travel.booking.intake.retention-minutes:60}") long retentionMinutes,
+                                @Value("${travel.booking.intake.max-tracked:100000}") long maxTracked,
+                                @Value("${travel.booking.intake.group-commit:false}") boolean groupCommit,
+                                @Value("${travel.booking.intake.max-group-size:64}") int maxGroupSize) {
+        if (workers <= 0 || queueCapacity <= 0 || maxGroupSize <= 0) {
+            throw new IllegalArgumentException("Booking intake workers, queue capacity and group size must be greater than zero");
+        }
+        this.bookingService = bookingService;
+        this.groupCommitService = groupCommitService;
+        this.metrics = metrics;
+        this.groupCommit = groupCommit;
+        this.maxGroupSize = maxGroupSize;
+        this.lanes = new ThreadPoolExecutor[workers];
+        for (int i = 0; i < workers; i++) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("booking-intake-" + i + "-");
+            threadFactory.setDaemon(true);
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        }
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .build();
+    }
+
+    public BookingRequestStatus submit(String key, Long hotelId, LocalDate checkInDate, LocalDate checkOutDate, User user) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new ValidationException("Booking request key must be 1-64 letters, digits, '-' or '_'");
+        }
+        String trackingKey = trackingKey(user, key);
+        BookingRequestStatus queued = BookingRequestStatus.queued(key, hotelId, checkInDate, checkOutDate);
+        BookingRequestStatus existing = requests.asMap().putIfAbsent(trackingKey, queued);
+        if (existing != null) {
+            if (!existing.isFor(hotelId, checkInDate, checkOutDate)) {
+                metrics.recordBookingIntake("key_reused");
+                throw new BookingRequestKeyReusedException("This booking request was already sent for another hotel or other dates. Please start a new booking.");
+            }
+            metrics.recordBookingIntake("duplicate");
+            return existing;
+        }
+
+        try {
+            ThreadPoolExecutor lane = laneFor(hotelId);
+            lane.execute(new PendingBooking(lane, trackingKey, queued, user));
+        } catch (RejectedExecutionException e) {
+            // Forget the key so the client can retry it once the lane has drained
+            requests.asMap().remove(trackingKey, queued);
+            metrics.recordBookingIntake("queue_full");
+            throw new BookingQueueFullException("Too many bookings are being processed right now. Please try again in a moment.", e);
+        }
+        metrics.recordBookingIntake("queued");
+        return queued;
+    }
+
+    public Optional<BookingRequestStatus> find(String key, User user) {
+        return Optional.ofNullable(requests.getIfPresent(trackingKey(user, key)));
+    }
+
+    private void process(PendingBooking pending) {
+        BookingRequestStatus queued = pending.queued;
+        BookingRequestStatus outcome;
+        try {
+            Booking booking = bookingService.bookHotel(queued.hotelId(), queued.checkInDate(), queued.checkOutDate(), pending.user);
+            outcome = queued.confirmed(booking.getId());
+        } catch (BookingConflictException e) {
+            outcome = queued.conflict(e.getMessage());
+        } catch (RuntimeException e) {
+            // bookHotel has already recorded the outcome; the message is what the status page shows
+            outcome = queued.rejected(e.getMessage());
+        }
+        requests.put(pending.trackingKey, outcome);
+    }
+
+    // Hotels keep their arrival order; a hotel with a single request in the batch is booked on its own
+    private void processBatch(List<PendingBooking> batch) {
+        Map<Long, List<PendingBooking>> byHotel = new LinkedHashMap<>();
+        for (PendingBooking pending : batch) {
+            byHotel.computeIfAbsent(pending.queued.hotelId(), hotelId -> new ArrayList<>()).add(pending);
+        }
+        for (Map.Entry<Long, List<PendingBooking>> group : byHotel.entrySet()) {
+            if (group.getValue().size() == 1) {
+                process(group.getValue().get(0));
+            } else {
+                commitGroup(group.getKey(), group.getValue());
+            }
+        }
+    }
+
+    private void commitGroup(Long hotelId, List<PendingBooking> group) {
+        List<BookingAttempt> attempts = group.stream()
+                .map(pending -> new BookingAttempt(pending.queued.checkInDate(), pending.queued.checkOutDate(), pending.user))
+                .toList();
+        List<BookingAttemptResult> results = groupCommitService.bookHotel(hotelId, attempts);
+        for (int i = 0; i < group.size(); i++) {
+            PendingBooking pending = group.get(i);
+            BookingAttemptResult result = results.get(i);
+            BookingRequestStatus outcome;
+            if (result.isBooked()) {
+                outcome = pending.queued.confirmed(result.booking().getId());
+            } else if (result.failure() instanceof BookingConflictException) {
+                outcome = pending.queued.conflict(result.failure().getMessage());
+            } else {
+                outcome = pending.queued.rejected(result.failure().getMessage());
+            }
+            requests.put(pending.trackingKey, outcome);
+        }
+    }
+
+    // Same spreading as HotelLockStripes, so a hotel always lands on the same lane
+    private ThreadPoolExecutor laneFor(Long hotelId) {
+        int hash = hotelId.hashCode();
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    private static String trackingKey(User user, String key) {
+        return user.getId() + ":" + key;
+    }
+
+    // The lane queue holds these tasks directly, so in group mode the running task can drain the ones behind it
+    private final class PendingBooking implements Runnable {
+
+        private final ThreadPoolExecutor lane;
+        private final String trackingKey;
+        private final BookingRequestStatus queued;
+        private final User user;
+
+        private PendingBooking(ThreadPoolExecutor lane, String trackingKey, BookingRequestStatus queued, User user) {
+            this.lane = lane;
+            this.trackingKey = trackingKey;
+            this.queued = queued;
+            this.user = user;
+        }
+
+        @Override
+        public void run() {
+            if (!groupCommit || maxGroupSize == 1) {
+                process(this);
+                return;
+            }
+            List<Runnable> waiting = new ArrayList<>();
+            lane.getQueue().drainTo(waiting, maxGroupSize - 1);
+            List<PendingBooking> batch = new ArrayList<>(waiting.size() + 1);
+            batch.add(this);
+            for (Runnable task : waiting) {
+                batch.add((PendingBooking) task);
+            }
+            processBatch(batch);
+        }
+    }
+
+    // Publishes pool size, active threads and queue depth per lane as executor.* meters
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < lanes.length; i++) {
+            new ExecutorServiceMetrics(lanes[i], "bookingIntake", Tags.of("lane", String.valueOf(i))).bindTo(registry);
+        }
+    }
+
+    // Lets queued requests finish on shutdown rather than dropping bookings the client was told are queued
+    @Override
+    public void close() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
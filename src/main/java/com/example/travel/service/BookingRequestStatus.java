@@ -0,0 +1,43 @@
+package com.example.travel.service;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Where an asynchronously submitted booking request stands. Immutable; the intake replaces the
+ * queued status with the outcome once a worker has run the booking.
+ */
+public record BookingRequestStatus(String key, Long hotelId, LocalDate checkInDate, LocalDate checkOutDate,
+                                   State state, Long bookingId, String message) {
+
+    public enum State {
+        QUEUED, CONFIRMED, CONFLICT, REJECTED
+    }
+
+    static BookingRequestStatus queued(String key, Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return new BookingRequestStatus(key, hotelId, checkInDate, checkOutDate, State.QUEUED, null, null);
+    }
+
+    BookingRequestStatus confirmed(Long bookingId) {
+        return new BookingRequestStatus(key, hotelId, checkInDate, checkOutDate, State.CONFIRMED, bookingId, null);
+    }
+
+    BookingRequestStatus conflict(String message) {
+        return new BookingRequestStatus(key, hotelId, checkInDate, checkOutDate, State.CONFLICT, null, message);
+    }
+
+    BookingRequestStatus rejected(String message) {
+        return new BookingRequestStatus(key, hotelId, checkInDate, checkOutDate, State.REJECTED, null, message);
+    }
+
+    // True when a resubmission carries the same hotel and dates as the request this key was first used for
+    boolean isFor(Long otherHotelId, LocalDate otherCheckInDate, LocalDate otherCheckOutDate) {
+        return Objects.equals(hotelId, otherHotelId)
+                && Objects.equals(checkInDate, otherCheckInDate)
+                && Objects.equals(checkOutDate, otherCheckOutDate);
+    }
+
+    public boolean isDone() {
+        return state != State.QUEUED;
+    }
+}
@@ -1,54 +1,97 @@
 package com.example.travel.service;
 
 import com.example.travel.exception.*;
+import com.example.travel.metrics.TravelMetrics;
 import com.example.travel.model.Booking;
 import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingSummary;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final Sort PROVIDER_BOOKINGS_SORT = Sort.by(Sort.Direction.DESC, "checkInDate").and(Sort.by("id"));
+
     private final BookingRepository bookingRepository;
     private final HotelService hotelService;
+    private final HotelAvailabilityIndex availabilityIndex;
+    private final ProviderDashboardStats dashboardStats;
+    private final HotelLockStripes hotelLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final TravelMetrics metrics;
 
     public Booking bookHotel(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate, User user) {
+        Timer.Sample sample = metrics.start();
         try {
             // Basic date validation - convert if statements to exception handling
             validateBookingDates(checkInDate, checkOutDate);
-            
-            Hotel hotel = hotelService.findById(hotelId)
-                    .orElseThrow(() -> new HotelNotFoundException(hotelId));
 
-            if (hotel.getServiceProvider() != null && hotel.getServiceProvider().getId().equals(user.getId())) {
-                throw new InvalidBookingException("You cannot book your own hotel.");
+            // The stripe lock is held until the transaction has committed, so the next attempt
+            // for this hotel always sees the booking we just saved
+            Lock hotelLock = hotelLocks.lockFor(hotelId);
+            hotelLock.lock();
+            dashboardStats.beginChange(hotelId);
+            try {
+                Booking saved = transactionTemplate.execute(status ->
+                        createBooking(hotelId, checkInDate, checkOutDate, user));
+                availabilityIndex.recordBooking(hotelId, saved.getId(), checkInDate, checkOutDate);
+                dashboardStats.recordBooking(hotelId, checkInDate, checkOutDate);
+                metrics.recordBooking(sample, "created");
+                return saved;
+            } finally {
+                dashboardStats.endChange(hotelId);
+                hotelLock.unlock();
             }
-
-            // Check for date conflicts - this is for hotel management, not user restriction
-            validateDateAvailability(hotel, checkInDate, checkOutDate);
-
-            Booking booking = new Booking();
-            booking.setHotel(hotel);
-            booking.setUser(user);
-            booking.setCheckInDate(checkInDate);
-            booking.setCheckOutDate(checkOutDate);
-
-            return bookingRepository.save(booking);
         } catch (HotelNotFoundException | InvalidBookingException e) {
+            metrics.recordBooking(sample, e instanceof BookingConflictException ? "conflict" : "rejected");
             throw e; // Re-throw domain exceptions
         } catch (Exception e) {
+            metrics.recordBooking(sample, e instanceof ValidationException ? "rejected" : "error");
             throw new InvalidBookingException("Unable to process booking: " + e.getMessage(), e);
         }
     }
 
-    private void validateBookingDates(LocalDate checkInDate, LocalDate checkOutDate) {
+    private Booking createBooking(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate, User user) {
+        Hotel hotel = hotelService.findById(hotelId)
+                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+
+        if (hotel.getServiceProvider() != null && hotel.getServiceProvider().getId().equals(user.getId())) {
+            throw new InvalidBookingException("You cannot book your own hotel.");
+        }
+
+        // Row lock on the hotel guards against double booking across application instances.
+        // The locked entity is managed by this transaction, unlike the (possibly cached) lookup above.
+        Hotel lockedHotel = hotelService.lockForBooking(hotelId);
+
+        // Check for date conflicts - this is for hotel management, not user restriction
+        validateDateAvailability(hotelId, checkInDate, checkOutDate);
+
+        Booking booking = new Booking();
+        booking.setHotel(lockedHotel);
+        booking.setUser(user);
+        booking.setCheckInDate(checkInDate);
+        booking.setCheckOutDate(checkOutDate);
+
+        return bookingRepository.save(booking);
+    }
+
+    // Shared with BookingGroupCommitService so grouped attempts are held to the same rules
+    static void validateBookingDates(LocalDate checkInDate, LocalDate checkOutDate) {
         if (checkInDate == null || checkOutDate == null) {
             throw new ValidationException("Check-in and check-out dates are required");
         }
@@ -62,16 +105,14 @@ public class BookingService {
         }
     }
 
-    private void validateDateAvailability(Hotel hotel, LocalDate checkInDate, LocalDate checkOutDate) {
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-            hotel, checkInDate, checkOutDate);
-
-        if (!conflictingBookings.isEmpty()) {
-            throw new InvalidBookingException("These dates are already booked. Please contact the hotel for availability or choose different dates.");
+    private void validateDateAvailability(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (bookingRepository.existsConflictingBooking(hotelId, checkInDate, checkOutDate)) {
+            throw new BookingConflictException();
         }
     }
 
     public void cancelBooking(Long bookingId, User user) {
+        Timer.Sample sample = metrics.start();
         try {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new BookingNotFoundException(bookingId));
@@ -79,14 +120,32 @@ public class BookingService {
             validateCancellationPermission(booking, user);
             validateCancellationTiming(booking);
 
-            bookingRepository.delete(booking);
+            Long hotelId = booking.getHotel().getId();
+            dashboardStats.beginChange(hotelId);
+            try {
+                bookingRepository.delete(booking);
+                availabilityIndex.removeBooking(hotelId, booking.getId());
+                dashboardStats.removeBooking(hotelId, booking.getCheckInDate(), booking.getCheckOutDate());
+            } finally {
+                dashboardStats.endChange(hotelId);
+            }
+            metrics.recordCancellation(sample, "cancelled");
         } catch (BookingNotFoundException | UnauthorizedAccessException | BookingCancellationException e) {
+            metrics.recordCancellation(sample, cancellationOutcome(e));
             throw e; // Re-throw domain exceptions
         } catch (Exception e) {
+            metrics.recordCancellation(sample, "error");
             throw new BookingCancellationException("Unable to cancel booking: " + e.getMessage(), e);
         }
     }
 
+    private static String cancellationOutcome(RuntimeException e) {
+        if (e instanceof BookingNotFoundException) {
+            return "not_found";
+        }
+        return e instanceof UnauthorizedAccessException ? "forbidden" : "too_late";
+    }
+
     private void validateCancellationPermission(Booking booking, User user) {
         if (!booking.getUser().getId().equals(user.getId())) {
             throw UnauthorizedAccessException.forAction("cancel bookings that don't belong to you");
@@ -99,14 +158,28 @@ public class BookingService {
         }
     }
 
-    public List<Booking> getBookingsByUser(User user) {
+    // Stays from today on, soonest first; the page sort is ignored in favour of the query's own order
+    public Page<BookingSummary> getUpcomingBookings(User user, Pageable pageable) {
         try {
-            return bookingRepository.findByUserOrderByCheckInDateDesc(user);
+            return bookingRepository.findUpcomingSummariesByUserId(user.getId(), LocalDate.now(), unsorted(pageable));
         } catch (Exception e) {
-            throw new RuntimeException("Unable to retrieve bookings for user: " + user.getUsername(), e);
+            throw new RuntimeException("Unable to retrieve upcoming bookings for user: " + user.getUsername(), e);
         }
     }
 
+    // Stays that started before today, most recent first
+    public Page<BookingSummary> getPastBookings(User user, Pageable pageable) {
+        try {
+            return bookingRepository.findPastSummariesByUserId(user.getId(), LocalDate.now(), unsorted(pageable));
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to retrieve past bookings for user: " + user.getUsername(), e);
+        }
+    }
+
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
     public List<Booking> getBookingsByHotel(Hotel hotel) {
         try {
             return bookingRepository.findByHotel(hotel);
@@ -115,13 +188,12 @@ public class BookingService {
         }
     }
 
-    public List<Booking> getBookingsByProvider(User provider) {
+    public Page<Booking> getBookingsByProvider(User provider, Pageable pageable) {
         try {
-            // Get all bookings for hotels owned by this provider
-            List<Hotel> providerHotels = hotelService.getHotelsByProvider(provider);
-            return providerHotels.stream()
-                    .flatMap(hotel -> bookingRepository.findByHotel(hotel).stream())
-                    .toList();
+            Pageable sorted = pageable.getSort().isSorted()
+                    ? pageable
+                    : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), PROVIDER_BOOKINGS_SORT);
+            return bookingRepository.findByProviderId(provider.getId(), sorted);
         } catch (Exception e) {
             throw new RuntimeException("Unable to retrieve bookings for provider: " + provider.getUsername(), e);
         }
@@ -135,19 +207,27 @@ public class BookingService {
         }
     }
 
-    // Method to get available dates for a hotel (for future enhancement)
-    public List<LocalDate> getUnavailableDates(Long hotelId, LocalDate startDate, LocalDate endDate) {
+    /**
+     * Booked days within [startDate, endDate] as disjoint, ascending {@code [from, to)} ranges.
+     * Served from the availability index once the hotel is warm, otherwise coalesced from a
+     * check-in ordered stay projection.
+     */
+    public List<DateRange> getUnavailableRanges(Long hotelId, LocalDate startDate, LocalDate endDate) {
         try {
-            Hotel hotel = hotelService.findById(hotelId)
+            Optional<HotelAvailabilityIndex.HotelCalendar> calendar = availabilityIndex.find(hotelId);
+            if (calendar.isPresent()) {
+                return calendar.get().occupiedRanges(startDate, endDate);
+            }
+
+            hotelService.findById(hotelId)
                     .orElseThrow(() -> new HotelNotFoundException(hotelId));
 
-            List<Booking> bookings = bookingRepository.findConflictingBookings(hotel, startDate, endDate);
+            calendar = warmCalendar(hotelId);
+            if (calendar.isPresent()) {
+                return calendar.get().occupiedRanges(startDate, endDate);
+            }
 
-            return bookings.stream()
-                    .flatMap(booking -> booking.getCheckInDate().datesUntil(booking.getCheckOutDate().plusDays(1)))
-                    .distinct()
-                    .sorted()
-                    .toList();
+            return DateRange.coalesce(bookingRepository.findStaysBetween(hotelId, startDate, endDate), startDate, endDate);
         } catch (HotelNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -158,15 +238,46 @@ public class BookingService {
     // Method to check if specific dates are available
     public boolean areDatesAvailable(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
         try {
-            Hotel hotel = hotelService.findById(hotelId)
+            Optional<HotelAvailabilityIndex.HotelCalendar> calendar = availabilityIndex.find(hotelId);
+            if (calendar.isPresent()) {
+                return calendar.get().isFree(checkIn, checkOut);
+            }
+
+            hotelService.findById(hotelId)
                     .orElseThrow(() -> new HotelNotFoundException(hotelId));
 
-            List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(hotel, checkIn, checkOut);
-            return conflictingBookings.isEmpty();
+            calendar = warmCalendar(hotelId);
+            if (calendar.isPresent()) {
+                return calendar.get().isFree(checkIn, checkOut);
+            }
+
+            return !bookingRepository.existsConflictingBooking(hotelId, checkIn, checkOut);
         } catch (HotelNotFoundException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Unable to check date availability for hotel: " + hotelId, e);
         }
     }
+
+    /**
+     * How badly a requested stay collides with existing bookings: the number of overlapping
+     * bookings and of requested days already taken. Neither count loads a Booking entity.
+     */
+    public BookingConflictSummary getConflictSummary(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            long bookedDays = getUnavailableRanges(hotelId, checkIn, checkOut).stream()
+                    .mapToLong(DateRange::days)
+                    .sum();
+            long conflictingBookings = bookedDays == 0 ? 0 : bookingRepository.countConflictingBookings(hotelId, checkIn, checkOut);
+            return new BookingConflictSummary(conflictingBookings, bookedDays);
+        } catch (HotelNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to summarise booking conflicts for hotel: " + hotelId, e);
+        }
+    }
+
+    private Optional<HotelAvailabilityIndex.HotelCalendar> warmCalendar(Long hotelId) {
+        return availabilityIndex.warm(hotelId, () -> bookingRepository.findStaysByHotelId(hotelId));
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.travel.service;
+
+import com.example.travel.repository.projection.BookingStay;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Half-open span of days {@code [from, to)}: {@code from} is the first booked day and {@code to}
+ * the first free day after it.
+ */
+public record DateRange(LocalDate from, LocalDate to) {
+
+    public long days() {
+        return to.toEpochDay() - from.toEpochDay();
+    }
+
+    /**
+     * Merges stays sorted by check-in date into disjoint ranges clipped to {@code [start, end]}.
+     * A stay occupies check-in through check-out inclusive; adjacent and overlapping stays merge.
+     */
+    public static List<DateRange> coalesce(List<BookingStay> stays, LocalDate start, LocalDate end) {
+        long windowFrom = start.toEpochDay();
+        long windowTo = end.toEpochDay() + 1;
+        List<DateRange> ranges = new ArrayList<>();
+
+        long runFrom = 0;
+        long runTo = Long.MIN_VALUE;
+        for (BookingStay stay : stays) {
+            long from = Math.max(stay.checkInDate().toEpochDay(), windowFrom);
+            long to = Math.min(stay.checkOutDate().toEpochDay() + 1, windowTo);
+            if (from >= to) {
+                continue;
+            }
+            if (from <= runTo) {
+                runTo = Math.max(runTo, to);
+            } else {
+                if (runTo != Long.MIN_VALUE) {
+                    ranges.add(of(runFrom, runTo));
+                }
+                runFrom = from;
+                runTo = to;
+            }
+        }
+        if (runTo != Long.MIN_VALUE) {
+            ranges.add(of(runFrom, runTo));
+        }
+        return ranges;
+    }
+
+    static DateRange of(long fromEpochDay, long toEpochDay) {
+        return new DateRange(LocalDate.ofEpochDay(fromEpochDay), LocalDate.ofEpochDay(toEpochDay));
+    }
+}
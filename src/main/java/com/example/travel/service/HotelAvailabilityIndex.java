@@ -0,0 +1,231 @@
+package com.example.travel.service;
+
+import com.example.travel.repository.projection.BookingStay;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory per-hotel day bitmap of booked nights.
+ * A hotel is "warm" once its bookings have been loaded; the book and cancel paths keep
+ * warm calendars in sync, and callers fall back to the repository while a hotel is cold.
+ * At most {@code max-hotels} calendars are kept, evicting the least used, and each is dropped
+ * {@code ttl-seconds} after it was built so bookings made on other instances show up.
+ */
+@Component
+public class HotelAvailabilityIndex {
+
+    // Bookings further than this from a calendar's origin are not indexed; the hotel goes cold instead
+    private static final int MAX_HORIZON_DAYS = 20 * 366;
+
+    // Evictions run on the writing thread, so the bound holds as soon as a warm returns
+    private final ConcurrentMap<Long, HotelCalendar> calendars;
+    // Only hotels being warmed have an entry, so bookings made during the load can be detected
+    private final ConcurrentMap<Long, Load> loads = new ConcurrentHashMap<>();
+
+    public HotelAvailabilityIndex(@Value("${travel.availability-index.max-hotels:10000}") int maxHotels,
+                                  @Value("${travel.availability-index.ttl-seconds:300}") long ttlSeconds) {
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxHotels)
+                .expireAfter(new BuiltAtExpiry(Duration.ofSeconds(ttlSeconds).toNanos()))
+                .executor(Runnable::run)
+                .<Long, HotelCalendar>build()
+                .asMap();
+    }
+
+    public Optional<HotelCalendar> find(Long hotelId) {
+        return Optional.ofNullable(calendars.get(hotelId));
+    }
+
+    /**
+     * Builds the calendar for a cold hotel from the given stays. Returns empty when a booking
+     * changed for the hotel while the stays were being loaded.
+     */
+    public Optional<HotelCalendar> warm(Long hotelId, Supplier<List<BookingStay>> loader) {
+        HotelCalendar existing = calendars.get(hotelId);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+
+        long[] changesBeforeLoad = new long[1];
+        loads.compute(hotelId, (id, load) -> {
+            Load current = load != null ? load : new Load();
+            changesBeforeLoad[0] = current.join();
+            return current;
+        });
+        try {
+            List<BookingStay> stays = loader.get();
+
+            long origin = LocalDate.now().toEpochDay();
+            for (BookingStay stay : stays) {
+                origin = Math.min(origin, stay.checkInDate().toEpochDay());
+            }
+
+            HotelCalendar calendar = new HotelCalendar(origin);
+            for (BookingStay stay : stays) {
+                if (!calendar.add(stay.id(), stay.checkInDate(), stay.checkOutDate())) {
+                    return Optional.empty();
+                }
+            }
+
+            HotelCalendar installed = calendars.compute(hotelId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                return loads.get(id).changes == changesBeforeLoad[0] ? calendar : null;
+            });
+            return Optional.ofNullable(installed);
+        } finally {
+            loads.computeIfPresent(hotelId, (id, load) -> load.leave() ? null : load);
+        }
+    }
+
+    public void recordBooking(Long hotelId, Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+        calendars.compute(hotelId, (id, calendar) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            if (calendar != null && !calendar.add(bookingId, checkInDate, checkOutDate)) {
+                return null;
+            }
+            return calendar;
+        });
+    }
+
+    public void removeBooking(Long hotelId, Long bookingId) {
+        calendars.compute(hotelId, (id, calendar) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            if (calendar != null) {
+                calendar.remove(bookingId);
+            }
+            return calendar;
+        });
+    }
+
+    public void evict(Long hotelId) {
+        calendars.compute(hotelId, (id, calendar) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            return null;
+        });
+    }
+
+    // Warms in progress for one hotel and the bookings changed since the first of them began; only touched inside compute
+    private static final class Load {
+
+        private int loaders;
+        private long changes;
+
+        long join() {
+            loaders++;
+            return changes;
+        }
+
+        Load change() {
+            changes++;
+            return this;
+        }
+
+        // True once the last warm has finished, so the entry can be dropped
+        boolean leave() {
+            return --loaders == 0;
+        }
+    }
+
+    // A calendar lives ttl from when it was built; applying bookings to it does not extend that
+    private record BuiltAtExpiry(long ttlNanos) implements Expiry<Long, HotelCalendar> {
+
+        @Override
+        public long expireAfterCreate(Long hotelId, HotelCalendar calendar, long currentTime) {
+            return Math.max(0, ttlNanos - (currentTime - calendar.builtAt));
+        }
+
+        @Override
+        public long expireAfterUpdate(Long hotelId, HotelCalendar calendar, long currentTime, long currentDuration) {
+            return expireAfterCreate(hotelId, calendar, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long hotelId, HotelCalendar calendar, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Booked days of a single hotel. A booking occupies every day from check-in to check-out
+     * inclusive, matching {@code BookingRepository.existsConflictingBooking}.
+     */
+    public static final class HotelCalendar {
+
+        private final long builtAt = System.nanoTime();
+        private final long origin;
+        private final BitSet occupied = new BitSet();
+        private final Map<Long, long[]> stays = new HashMap<>();
+
+        HotelCalendar(long origin) {
+            this.origin = origin;
+        }
+
+        synchronized boolean add(Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+            long from = checkInDate.toEpochDay() - origin;
+            long to = checkOutDate.toEpochDay() - origin;
+            if (from < 0 || to > MAX_HORIZON_DAYS || to < from) {
+                return false;
+            }
+            stays.put(bookingId, new long[] {from, to});
+            occupied.set((int) from, (int) to + 1);
+            return true;
+        }
+
+        synchronized void remove(Long bookingId) {
+            long[] removed = stays.remove(bookingId);
+            if (removed == null) {
+                return;
+            }
+            occupied.clear((int) removed[0], (int) removed[1] + 1);
+            // Re-mark days still covered by overlapping bookings
+            for (long[] stay : stays.values()) {
+                if (stay[0] <= removed[1] && stay[1] >= removed[0]) {
+                    occupied.set((int) Math.max(stay[0], removed[0]), (int) Math.min(stay[1], removed[1]) + 1);
+                }
+            }
+        }
+
+        public synchronized boolean isFree(LocalDate checkIn, LocalDate checkOut) {
+            long from = Math.max(checkIn.toEpochDay() - origin, 0);
+            long to = Math.min(checkOut.toEpochDay() - origin, MAX_HORIZON_DAYS);
+            if (to < from) {
+                return true;
+            }
+            int next = occupied.nextSetBit((int) from);
+            return next < 0 || next > to;
+        }
+
+        // Runs of booked days within [startDate, endDate] as half-open ranges, read straight off the bitmap
+        public synchronized List<DateRange> occupiedRanges(LocalDate startDate, LocalDate endDate) {
+            long from = Math.max(startDate.toEpochDay() - origin, 0);
+            long to = Math.min(endDate.toEpochDay() - origin, MAX_HORIZON_DAYS);
+            List<DateRange> ranges = new ArrayList<>();
+            if (to < from) {
+                return ranges;
+            }
+            int limit = (int) to + 1;
+            for (int runStart = occupied.nextSetBit((int) from); runStart >= 0 && runStart < limit; ) {
+                int runEnd = Math.min(occupied.nextClearBit(runStart), limit);
+                ranges.add(DateRange.of(origin + runStart, origin + runEnd));
+                runStart = occupied.nextSetBit(runEnd);
+            }
+            return ranges;
+        }
+    }
+}
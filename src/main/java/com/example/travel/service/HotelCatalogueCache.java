@@ -0,0 +1,237 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of hotel catalogue data, bounded by size and time-to-live.
+ * Hotels are held as immutable snapshots keyed by id; search results are held as id lists keyed
+ * by the filter tuple and resolved through the id cache. Every lookup returns fresh detached
+ * {@link Hotel} instances so callers can never mutate a cached value.
+ */
+@Component
+public class HotelCatalogueCache implements MeterBinder {
+
+    // Larger result lists (e.g. an unfiltered search of the whole catalogue) are not worth pinning in memory
+    private static final int MAX_CACHED_RESULTS = 1000;
+
+    private final Cache<Long, HotelSnapshot> hotels;
+    private final Cache<SearchKey, SearchResult> searches;
+    // Bumped on every write so loads that raced an invalidation are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public HotelCatalogueCache(@Value("${travel.hotel-cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${travel.hotel-cache.max-hotels:10000}") long maxHotels,
+                               @Value("${travel.hotel-cache.max-searches:1000}") long maxSearches) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.hotels = Caffeine.newBuilder()
+                .maximumSize(maxHotels)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.searches = Caffeine.newBuilder()
+                .maximumSize(maxSearches)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Hotel> getHotel(Long id, Function<Long, Optional<Hotel>> loader) {
+        HotelSnapshot cached = hotels.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toHotel());
+        }
+        long loadedAt = generation.get();
+        Optional<Hotel> loaded = loader.apply(id);
+        loaded.ifPresent(hotel -> putHotel(hotel, loadedAt));
+        return loaded;
+    }
+
+    /**
+     * Returns the cached result for a search, resolving any hotels that have since dropped out of
+     * the id cache with one batched load.
+     */
+    public Optional<CachedSearch> getSearch(SearchKey key, Function<Collection<Long>, List<Hotel>> loader) {
+        SearchResult result = searches.getIfPresent(key);
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        long loadedAt = generation.get();
+        Map<Long, HotelSnapshot> cached = hotels.getAllPresent(result.ids());
+        if (cached.size() < result.ids().size()) {
+            List<Long> missing = result.ids().stream().filter(id -> !cached.containsKey(id)).toList();
+            Map<Long, HotelSnapshot> resolved = new HashMap<>(cached);
+            for (Hotel hotel : loader.apply(missing)) {
+                resolved.put(hotel.getId(), HotelSnapshot.of(hotel));
+                putHotel(hotel, loadedAt);
+            }
+            return Optional.of(toCachedSearch(result, resolved));
+        }
+        return Optional.of(toCachedSearch(result, cached));
+    }
+
+    public void putSearch(SearchKey key, List<Hotel> results, String nextCursor, long loadedAt) {
+        if (generation.get() != loadedAt || results.size() > MAX_CACHED_RESULTS) {
+            return;
+        }
+        results.forEach(hotel -> putHotel(hotel, loadedAt));
+        searches.put(key, new SearchResult(results.stream().map(Hotel::getId).toList(), nextCursor));
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    // A hotel was added or changed: drop its snapshot and every search it was, or now is, part of
+    public void invalidate(Hotel hotel) {
+        generation.incrementAndGet();
+        hotels.invalidate(hotel.getId());
+        searches.asMap().entrySet().removeIf(entry ->
+                entry.getValue().ids().contains(hotel.getId()) || entry.getKey().matches(hotel));
+    }
+
+    public void invalidate(Long hotelId) {
+        generation.incrementAndGet();
+        hotels.invalidate(hotelId);
+        searches.asMap().values().removeIf(result -> result.ids().contains(hotelId));
+    }
+
+    // Hotels were added in bulk: cached hotels are unaffected, but any search may now have more results
+    public void invalidateSearches() {
+        generation.incrementAndGet();
+        searches.invalidateAll();
+    }
+
+    public List<CacheMetrics> metrics() {
+        return List.of(CacheMetrics.of("hotels", hotels), CacheMetrics.of("hotelSearches", searches));
+    }
+
+    // Publishes hit, miss and eviction counts as cache.* meters tagged with the cache name
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, hotels, "hotels");
+        CaffeineCacheMetrics.monitor(registry, searches, "hotelSearches");
+    }
+
+    private void putHotel(Hotel hotel, long loadedAt) {
+        if (generation.get() == loadedAt) {
+            hotels.put(hotel.getId(), HotelSnapshot.of(hotel));
+        }
+    }
+
+    private static CachedSearch toCachedSearch(SearchResult result, Map<Long, HotelSnapshot> snapshots) {
+        List<Hotel> resolved = new ArrayList<>(result.ids().size());
+        for (Long id : result.ids()) {
+            HotelSnapshot snapshot = snapshots.get(id);
+            if (snapshot != null) {
+                resolved.add(snapshot.toHotel());
+            }
+        }
+        return new CachedSearch(resolved, result.nextCursor());
+    }
+
+    /**
+     * Search filter tuple. Unpaged searches may carry a price floor; paged searches carry their
+     * sort order, cursor and page size instead and leave those null/zero.
+     */
+    public record SearchKey(String location, BigDecimal minPrice, BigDecimal maxPrice,
+                            HotelSortOrder sort, String cursor, int pageSize) {
+
+        public static SearchKey of(String location, BigDecimal minPrice, BigDecimal maxPrice) {
+            return new SearchKey(normalizeLocation(location), normalizePrice(minPrice), normalizePrice(maxPrice), null, null, 0);
+        }
+
+        public static SearchKey page(String location, BigDecimal maxPrice, HotelSortOrder sort, String cursor, int pageSize) {
+            return new SearchKey(normalizeLocation(location), null, normalizePrice(maxPrice), sort, cursor, pageSize);
+        }
+
+        private static String normalizeLocation(String location) {
+            return (location == null || location.isBlank()) ? null : location.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static BigDecimal normalizePrice(BigDecimal price) {
+            return price == null ? null : price.stripTrailingZeros();
+        }
+
+        // Superset of the database predicate (accent-insensitive), so invalidation errs on the safe side
+        boolean matches(Hotel hotel) {
+            boolean locationMatches = location == null
+                    || HotelSearchIndex.normalize(hotel.getLocation()).contains(HotelSearchIndex.normalize(location));
+            BigDecimal price = hotel.getPricePerNight();
+            boolean priceMatches = (minPrice == null && maxPrice == null)
+                    || (price != null
+                        && (minPrice == null || price.compareTo(minPrice) >= 0)
+                        && (maxPrice == null || price.compareTo(maxPrice) <= 0));
+            return locationMatches && priceMatches;
+        }
+    }
+
+    public record CachedSearch(List<Hotel> hotels, String nextCursor) {
+    }
+
+    public record CacheMetrics(String name, long hits, long misses, long evictions, long size) {
+
+        static CacheMetrics of(String name, Cache<?, ?> cache) {
+            CacheStats stats = cache.stats();
+            return new CacheMetrics(name, stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+        }
+    }
+
+    private record SearchResult(List<Long> ids, String nextCursor) {
+    }
+
+    private record HotelSnapshot(Long id, String name, String location, BigDecimal pricePerNight,
+                                 Long version, LocalDateTime updatedAt,
+                                 Long providerId, String providerUsername, UserRole providerRole) {
+
+        static HotelSnapshot of(Hotel hotel) {
+            User provider = hotel.getServiceProvider();
+            return new HotelSnapshot(hotel.getId(), hotel.getName(), hotel.getLocation(), hotel.getPricePerNight(),
+                    hotel.getVersion(), hotel.getUpdatedAt(),
+                    provider != null ? provider.getId() : null,
+                    provider != null ? provider.getUsername() : null,
+                    provider != null ? provider.getRole() : null);
+        }
+
+        Hotel toHotel() {
+            Hotel hotel = new Hotel();
+            hotel.setId(id);
+            hotel.setName(name);
+            hotel.setLocation(location);
+            hotel.setPricePerNight(pricePerNight);
+            hotel.setVersion(version);
+            hotel.setUpdatedAt(updatedAt);
+            if (providerId != null) {
+                User provider = new User();
+                provider.setId(providerId);
+                provider.setUsername(providerUsername);
+                provider.setRole(providerRole);
+                hotel.setServiceProvider(provider);
+            }
+            return hotel;
+        }
+    }
+}
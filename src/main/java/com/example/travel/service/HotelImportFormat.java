@@ -0,0 +1,23 @@
+package com.example.travel.service;
+
+import java.util.Locale;
+
+/**
+ * Supported bulk import payloads. CSV needs a header naming the {@code name}, {@code location}
+ * and {@code pricePerNight} columns; JSON is an array of objects with those fields.
+ */
+public enum HotelImportFormat {
+    CSV,
+    JSON;
+
+    // Picks the format from the upload's content type, falling back to the file extension
+    public static HotelImportFormat detect(String contentType, String filename) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            return JSON;
+        }
+        if (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".json")) {
+            return JSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.travel.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk hotel import. {@code errors} lists rejected rows by their row number (the CSV
+ * line, or the position in the JSON array) and is truncated after the first few hundred;
+ * {@code rejected} always counts them all.
+ */
+public record HotelImportResult(long imported, long rejected, List<RowError> errors) {
+
+    public boolean errorsTruncated() {
+        return errors.size() < rejected;
+    }
+
+    public record RowError(long row, String message) {
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.ValidationException;
+import com.example.travel.model.User;
+import com.example.travel.repository.HotelRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams a provider's CSV or JSON hotel list into the catalogue. Rows are validated one at a time
+ * with the same rules as the add-hotel form and written with batched JDBC inserts, one transaction
+ * per batch, so a large import never holds the whole file or one huge transaction. Invalid rows are
+ * skipped and reported; the search index and catalogue cache are brought up to date at the end.
+ */
+@Service
+public class HotelImportService {
+
+    private static final String INSERT_HOTEL =
+            "INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HotelRepository hotelRepository;
+    private final HotelSearchIndex searchIndex;
+    private final HotelCatalogueCache catalogueCache;
+    private final ObjectMapper objectMapper;
+    private final SessionFactory sessionFactory;
+    private final int batchSize;
+
+    public HotelImportService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              HotelRepository hotelRepository,
+                              HotelSearchIndex searchIndex,
+                              HotelCatalogueCache catalogueCache,
+                              ObjectMapper objectMapper,
+                              SessionFactory sessionFactory,
+                              @Value("${travel.hotel-import.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Hotel import batch size must be greater than zero");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.hotelRepository = hotelRepository;
+        this.searchIndex = searchIndex;
+        this.catalogueCache = catalogueCache;
+        this.objectMapper = objectMapper;
+        this.sessionFactory = sessionFactory;
+        this.batchSize = batchSize;
+    }
+
+    public HotelImportResult importHotels(InputStream input, HotelImportFormat format, User serviceProvider) {
+        long lastIdBefore = hotelRepository.findMaxId();
+        ImportBatch batch = new ImportBatch(serviceProvider.getId());
+        try {
+            if (format == HotelImportFormat.JSON) {
+                readJson(input, batch);
+            } else {
+                readCsv(input, batch);
+            }
+            batch.flush();
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to import hotels after " + batch.imported + " rows: " + e.getMessage(), e);
+        } finally {
+            // Also covers a partial import: batches committed before a failure are searchable too
+            if (batch.imported > 0) {
+                searchIndex.putAll(hotelRepository.findSearchEntriesByProviderAfter(serviceProvider.getId(), lastIdBefore));
+                catalogueCache.invalidateSearches();
+                // The JDBC batches bypassed Hibernate, so cached hotel queries never saw the table change
+                sessionFactory.getCache().evictDefaultQueryRegion();
+            }
+        }
+        return new HotelImportResult(batch.imported, batch.rejected, List.copyOf(batch.errors));
+    }
+
+    private void readCsv(InputStream input, ImportBatch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new ValidationException("The import file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = CsvLine.parse(stripBom(headerLine));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer nameColumn = columns.get("name");
+        Integer locationColumn = columns.get("location");
+        Integer priceColumn = columns.get("pricepernight");
+        if (nameColumn == null || locationColumn == null || priceColumn == null) {
+            throw new ValidationException("CSV header must name the columns name, location and pricePerNight");
+        }
+
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields;
+            try {
+                fields = CsvLine.parse(line);
+            } catch (IllegalArgumentException e) {
+                batch.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            batch.accept(lineNumber, field(fields, nameColumn), field(fields, locationColumn), field(fields, priceColumn));
+        }
+    }
+
+    private void readJson(InputStream input, ImportBatch batch) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ValidationException("JSON import must be an array of hotel objects");
+            }
+            long position = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new ValidationException("JSON import ended before the closing ]");
+                }
+                position++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    batch.reject(position, "Expected a hotel object");
+                    continue;
+                }
+                String name = null;
+                String location = null;
+                String price = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value.isStructStart()) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                    switch (fieldName) {
+                        case "name" -> name = text;
+                        case "location" -> location = text;
+                        case "pricePerNight" -> price = text;
+                        default -> {
+                            // Unknown fields are ignored, like form binding does
+                        }
+                    }
+                }
+                batch.accept(position, name, location, price);
+            }
+        } catch (JsonProcessingException e) {
+            String where = e.getLocation() != null ? " at line " + e.getLocation().getLineNr() : "";
+            throw new ValidationException("Malformed JSON" + where + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // Same rules as the add-hotel form: HotelService.validateHotelData plus HotelDto's size and digit limits
+    private static BigDecimal validate(String name, String location, String price) {
+        BigDecimal pricePerNight;
+        try {
+            pricePerNight = price == null || price.isBlank() ? null : new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Price per night must be a number");
+        }
+        HotelService.validateHotelData(name, location, pricePerNight);
+        if (name.trim().length() < 3 || name.trim().length() > 100) {
+            throw new ValidationException("Hotel name must be between 3 and 100 characters");
+        }
+        if (location.trim().length() < 2 || location.trim().length() > 150) {
+            throw new ValidationException("Location must be between 2 and 150 characters");
+        }
+        if (pricePerNight.scale() > 2 || pricePerNight.precision() - pricePerNight.scale() > 8) {
+            throw new ValidationException("Price must be a valid amount with up to 2 decimal places");
+        }
+        return pricePerNight;
+    }
+
+    // Accumulates valid rows and writes them once a batch is full
+    private final class ImportBatch {
+
+        private final Long providerId;
+        private final List<Object[]> pending = new ArrayList<>(batchSize);
+        private final List<HotelImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        ImportBatch(Long providerId) {
+            this.providerId = providerId;
+        }
+
+        void accept(long row, String name, String location, String price) {
+            BigDecimal pricePerNight;
+            try {
+                pricePerNight = validate(name, location, price);
+            } catch (ValidationException e) {
+                reject(row, e.getMessage());
+                return;
+            }
+            pending.add(new Object[]{name.trim(), location.trim(), pricePerNight, providerId});
+            if (pending.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new HotelImportResult.RowError(row, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_HOTEL, pending));
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+
+    // RFC 4180 fields on a single line: commas inside double quotes, "" for a literal quote
+    static final class CsvLine {
+
+        private CsvLine() {
+        }
+
+        static List<String> parse(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.travel.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of in-process locks striped by hotel id, so booking attempts for the same hotel
+ * queue in the JVM instead of on the database row lock.
+ */
+@Component
+public class HotelLockStripes {
+
+    private final Lock[] stripes;
+
+    public HotelLockStripes(@Value("${travel.booking.lock-stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Lock stripe count must be greater than zero");
+        }
+        stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(Long hotelId) {
+        int hash = hotelId.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+}
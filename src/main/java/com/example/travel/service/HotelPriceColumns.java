@@ -0,0 +1,143 @@
+package com.example.travel.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented snapshot of every indexed hotel: parallel primitive arrays of ids, prices in
+ * cents and location codes, one dense slot per hotel. Filters are straight loops over the arrays
+ * with no per-hotel objects, boxing or {@link BigDecimal} comparisons. Not thread-safe;
+ * {@link HotelSearchIndex} guards it with its read/write lock.
+ */
+final class HotelPriceColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] locationCodes = new int[INITIAL_CAPACITY];
+    private int size;
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    void put(long id, long cents, int locationCode) {
+        Integer existing = slots.get(id);
+        int slot = existing != null ? existing : append(id);
+        priceCents[slot] = cents;
+        locationCodes[slot] = locationCode;
+    }
+
+    // Moves the last slot into the hole, so the arrays stay dense and scans never skip tombstones
+    void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            priceCents[slot] = priceCents[last];
+            locationCodes[slot] = locationCodes[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    void clear() {
+        size = 0;
+        slots.clear();
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Slots priced between {@code minCents} and {@code maxCents} inclusive whose location code is
+     * flagged in {@code locations}; a null mask accepts every location.
+     */
+    int[] select(boolean[] locations, long minCents, long maxCents) {
+        int[] matches = new int[Math.min(size, 256)];
+        int count = 0;
+        long[] prices = priceCents;
+        int[] codes = locationCodes;
+        for (int slot = 0; slot < size; slot++) {
+            if (prices[slot] >= minCents && prices[slot] <= maxCents && (locations == null || locations[codes[slot]])) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * The first {@code limit} slots in (price, id) order past the keyset position
+     * ({@code afterCents}, {@code afterId}), under the cap and in a flagged location. Filtering and
+     * the bounded selection run in one pass over the primitive columns, so matches that cannot make
+     * the page are never collected.
+     */
+    int[] selectPage(boolean[] locations, long maxCents, long afterCents, long afterId, int limit) {
+        SlotHeap page = new SlotHeap(Math.min(limit, size), this::comparePrice);
+        long[] prices = priceCents;
+        long[] hotelIds = ids;
+        int[] codes = locationCodes;
+        for (int slot = 0; slot < size; slot++) {
+            long cents = prices[slot];
+            if (cents <= maxCents && (cents > afterCents || (cents == afterCents && hotelIds[slot] > afterId))
+                    && (locations == null || locations[codes[slot]])) {
+                page.offer(slot);
+            }
+        }
+        return page.drainInOrder();
+    }
+
+    private int comparePrice(int a, int b) {
+        int byPrice = Long.compare(priceCents[a], priceCents[b]);
+        return byPrice != 0 ? byPrice : Long.compare(ids[a], ids[b]);
+    }
+
+    // Hotel prices are DECIMAL(10, 2), so two places never lose anything
+    static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // A cap of 99.999 still admits 99.99 but not 100.00
+    static long maxCents(BigDecimal maxPrice) {
+        if (maxPrice == null) {
+            return Long.MAX_VALUE;
+        }
+        BigDecimal cents = maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR);
+        return cents.max(MIN_CENTS).min(MAX_CENTS).longValue();
+    }
+
+    // A floor of 99.001 admits 100.00 but not 99.00
+    static long minCents(BigDecimal minPrice) {
+        if (minPrice == null) {
+            return Long.MIN_VALUE;
+        }
+        BigDecimal cents = minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING);
+        return cents.max(MIN_CENTS).min(MAX_CENTS).longValue();
+    }
+
+    private int append(long id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            locationCodes = Arrays.copyOf(locationCodes, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        slots.put(id, slot);
+        return slot;
+    }
+}
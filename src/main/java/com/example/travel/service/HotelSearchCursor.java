@@ -0,0 +1,53 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.ValidationException;
+import com.example.travel.model.Hotel;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated search: the sort key value and id of the last hotel
+ * on the previous page, encoded as a URL-safe token.
+ */
+public record HotelSearchCursor(HotelSortOrder sort, String lastValue, Long lastId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static HotelSearchCursor after(Hotel hotel, HotelSortOrder sort) {
+        String value = sort == HotelSortOrder.PRICE ? hotel.getPricePerNight().toPlainString() : hotel.getName();
+        return new HotelSearchCursor(sort, value, hotel.getId());
+    }
+
+    public static HotelSearchCursor decode(String token, HotelSortOrder expectedSort) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = decoded.indexOf(SEPARATOR);
+            int last = decoded.lastIndexOf(SEPARATOR);
+            HotelSortOrder sort = HotelSortOrder.valueOf(decoded.substring(0, first));
+            if (sort != expectedSort || first == last) {
+                throw new ValidationException("Search cursor does not match the requested sort order");
+            }
+            HotelSearchCursor cursor = new HotelSearchCursor(sort, decoded.substring(first + 1, last),
+                    Long.valueOf(decoded.substring(last + 1)));
+            if (sort == HotelSortOrder.PRICE) {
+                cursor.priceValue(); // fail fast on a malformed price
+            }
+            return cursor;
+        } catch (ValidationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid search cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + lastValue + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BigDecimal priceValue() {
+        return new BigDecimal(lastValue);
+    }
+}
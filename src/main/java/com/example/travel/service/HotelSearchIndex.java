@@ -0,0 +1,369 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.projection.HotelSearchEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over hotel locations. Substring searches that would be a
+ * leading-wildcard {@code LIKE} in SQL intersect trigram posting lists instead, then verify the
+ * surviving candidates. Locations are dictionary-encoded: the trigram index covers the distinct
+ * location strings, and price and location filters run over {@link HotelPriceColumns}. Loaded once
+ * the application is ready, kept current by {@link HotelService} and reloaded every
+ * {@code refresh-seconds} to pick up writes made by other instances.
+ */
+@Component
+public class HotelSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Comparator<Entry> BY_NAME = Comparator.comparing(Entry::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Entry::name)
+            .thenComparingLong(Entry::id);
+
+    private final HotelRepository hotelRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final HotelPriceColumns columns = new HotelPriceColumns();
+    // Distinct normalized locations; a code is the position in this list and is never reused until the next load
+    private final List<String> locations = new ArrayList<>();
+    private final Map<String, Integer> locationCodes = new HashMap<>();
+    private final FieldIndex locationIndex = new FieldIndex();
+    // Writes made while a snapshot is read; replayed over it, since the snapshot may predate them
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean ready;
+
+    public HotelSearchIndex(HotelRepository hotelRepository,
+                            @Value("${travel.search-index.enabled:true}") boolean enabled) {
+        this.hotelRepository = hotelRepository;
+        this.enabled = enabled;
+    }
+
+    // Searches keep using the previous load, under the read lock, until the new snapshot is swapped in
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${travel.search-index.refresh-seconds:300}",
+            fixedDelayString = "${travel.search-index.refresh-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        setLoading(true);
+        try {
+            load(hotelRepository.findSearchEntries());
+        } catch (RuntimeException e) {
+            setLoading(false);
+            throw e;
+        }
+    }
+
+    public void load(List<HotelSearchEntry> hotels) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            columns.clear();
+            locations.clear();
+            locationCodes.clear();
+            locationIndex.clear();
+            for (HotelSearchEntry hotel : hotels) {
+                add(hotel.id(), hotel.name(), hotel.location(), hotel.pricePerNight());
+            }
+            pendingWrites.forEach(Runnable::run);
+            pendingWrites.clear();
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setLoading(boolean value) {
+        lock.writeLock().lock();
+        try {
+            loading = value;
+            if (!value && ready) {
+                pendingWrites.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Hotel hotel) {
+        HotelSearchEntry entry = new HotelSearchEntry(hotel.getId(), hotel.getName(), hotel.getLocation(), hotel.getPricePerNight());
+        write(() -> replace(entry));
+    }
+
+    // Adds a batch of new hotels under one write lock, e.g. after a bulk import
+    public void putAll(List<HotelSearchEntry> hotels) {
+        List<HotelSearchEntry> batch = List.copyOf(hotels);
+        write(() -> batch.forEach(this::replace));
+    }
+
+    public void remove(Long hotelId) {
+        write(() -> removeEntry(hotelId));
+    }
+
+    /**
+     * Applies a write to the live index, and also keeps it for replay while the index has not been
+     * loaded yet or a reload is reading its snapshot. Replaying is safe because every write is
+     * idempotent: a hotel is replaced or removed as a whole.
+     */
+    private void write(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                change.run();
+            }
+            if (!ready || loading) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(HotelSearchEntry hotel) {
+        removeEntry(hotel.id());
+        add(hotel.id(), hotel.name(), hotel.location(), hotel.pricePerNight());
+    }
+
+    // Ids of hotels whose location contains the query (case and accent insensitive) within the price cap
+    public List<Long> findByLocation(String location, BigDecimal maxPrice) {
+        return findByPriceRange(location, null, maxPrice);
+    }
+
+    // Same as findByLocation with a lower price bound as well; either bound and the location may be null
+    public List<Long> findByPriceRange(String location, BigDecimal minPrice, BigDecimal maxPrice) {
+        String needle = normalize(location);
+        long minCents = HotelPriceColumns.minCents(minPrice);
+        long maxCents = HotelPriceColumns.maxCents(maxPrice);
+        lock.readLock().lock();
+        try {
+            return ids(columns.select(locationMask(needle), minCents, maxCents));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of every hotel at or under the price cap, without touching the database
+    public List<Long> findByMaxPrice(BigDecimal maxPrice) {
+        return findByLocation(null, maxPrice);
+    }
+
+    // Keyset page over the location matches, ordered like the repository's paged search queries
+    public List<Long> findPage(String location, BigDecimal maxPrice, HotelSortOrder sort, HotelSearchCursor after, int limit) {
+        String needle = normalize(location);
+        long maxCents = HotelPriceColumns.maxCents(maxPrice);
+
+        lock.readLock().lock();
+        try {
+            boolean[] mask = locationMask(needle);
+            if (sort == HotelSortOrder.PRICE) {
+                long afterCents = after == null ? Long.MIN_VALUE : HotelPriceColumns.toCents(after.priceValue());
+                long afterId = after == null ? Long.MIN_VALUE : after.lastId();
+                return orderedIds(columns.selectPage(mask, maxCents, afterCents, afterId, limit));
+            }
+
+            Entry seekPast = after == null ? null : new Entry(after.lastId(), after.lastValue());
+            SlotHeap page = new SlotHeap(limit, (a, b) -> BY_NAME.compare(entry(a), entry(b)));
+            for (int slot : columns.select(mask, Long.MIN_VALUE, maxCents)) {
+                if (seekPast == null || BY_NAME.compare(entry(slot), seekPast) > 0) {
+                    page.offer(slot);
+                }
+            }
+            return orderedIds(page.drainInOrder());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Entry entry(int slot) {
+        return entries.get(columns.id(slot));
+    }
+
+    /**
+     * Flags the location codes whose text contains the query, or null when there is no location
+     * filter at all. The trigram index narrows the distinct locations before the substring check.
+     */
+    private boolean[] locationMask(String needle) {
+        if (needle.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[locations.size()];
+        long[] candidates = locationIndex.candidates(needle);
+        if (candidates == null) {
+            for (int code = 0; code < mask.length; code++) {
+                mask[code] = locations.get(code).contains(needle);
+            }
+        } else {
+            for (long code : candidates) {
+                mask[(int) code] = locations.get((int) code).contains(needle);
+            }
+        }
+        return mask;
+    }
+
+    // Ascending id order, the same order the trigram posting lists produce
+    private List<Long> ids(int[] slots) {
+        long[] ids = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ids[i] = columns.id(slots[i]);
+        }
+        Arrays.sort(ids);
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private List<Long> orderedIds(int[] slots) {
+        List<Long> ids = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            ids.add(columns.id(slot));
+        }
+        return ids;
+    }
+
+    private void add(Long id, String name, String location, BigDecimal price) {
+        entries.put(id, new Entry(id, name));
+        columns.put(id, HotelPriceColumns.toCents(price), locationCode(normalize(location)));
+    }
+
+    private int locationCode(String searchLocation) {
+        Integer code = locationCodes.get(searchLocation);
+        if (code == null) {
+            code = locations.size();
+            locations.add(searchLocation);
+            locationCodes.put(searchLocation, code);
+            locationIndex.add(code, searchLocation);
+        }
+        return code;
+    }
+
+    private void removeEntry(Long id) {
+        if (entries.remove(id) != null) {
+            columns.remove(id);
+        }
+    }
+
+    // Lower-cased with diacritics stripped, close to MySQL's accent-insensitive collations
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "");
+    }
+
+    private record Entry(long id, String name) {
+    }
+
+    private static final class FieldIndex {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        void add(long id, String text) {
+            for (String gram : trigrams(text)) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+            }
+        }
+
+        void clear() {
+            postings.clear();
+        }
+
+        /**
+         * Ids containing every trigram of the query, or null when the query is too short to use
+         * the index and every entry is a candidate.
+         */
+        long[] candidates(String query) {
+            if (query.length() < GRAM) {
+                return null;
+            }
+            PostingList[] lists = trigrams(query).stream()
+                    .map(gram -> postings.getOrDefault(gram, PostingList.EMPTY))
+                    .sorted(Comparator.comparingInt(list -> list.size))
+                    .toArray(PostingList[]::new);
+
+            PostingList smallest = lists[0];
+            long[] result = new long[smallest.size];
+            int count = 0;
+            outer:
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                for (int l = 1; l < lists.length; l++) {
+                    if (!lists[l].contains(id)) {
+                        continue outer;
+                    }
+                }
+                result[count++] = id;
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static Set<String> trigrams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+
+    // Sorted, growable array of hotel ids; appends are O(1) when ids arrive in ascending order
+    private static final class PostingList {
+
+        static final PostingList EMPTY = new PostingList();
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                position = -position - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
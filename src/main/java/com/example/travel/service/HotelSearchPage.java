@@ -0,0 +1,15 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated hotel search. {@code nextCursor} is null on the last page.
+ */
+public record HotelSearchPage(List<Hotel> hotels, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.travel.service;
 
 import com.example.travel.exception.*;
+import com.example.travel.metrics.TravelMetrics;
 import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.projection.HotelCatalogueVersion;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class HotelService {
 
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
     private final HotelRepository hotelRepository;
+    private final HotelAvailabilityIndex availabilityIndex;
+    private final ProviderDashboardStats dashboardStats;
+    private final HotelSearchIndex searchIndex;
+    private final HotelCatalogueCache catalogueCache;
+    private final TravelMetrics metrics;
 
     public Hotel addHotel(String name, String location, BigDecimal pricePerNight, User serviceProvider) {
         try {
@@ -26,7 +43,10 @@ public class HotelService {
             hotel.setLocation(location);
             hotel.setPricePerNight(pricePerNight);
             hotel.setServiceProvider(serviceProvider);
-            return hotelRepository.save(hotel);
+            Hotel saved = hotelRepository.save(hotel);
+            searchIndex.put(saved);
+            catalogueCache.invalidate(saved);
+            return saved;
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -34,7 +54,8 @@ public class HotelService {
         }
     }
 
-    private void validateHotelData(String name, String location, BigDecimal pricePerNight) {
+    // Shared with HotelImportService so imported rows pass the same checks as single adds
+    static void validateHotelData(String name, String location, BigDecimal pricePerNight) {
         if (name == null || name.trim().isEmpty()) {
             throw new ValidationException("Hotel name is required");
         }
@@ -50,7 +71,7 @@ public class HotelService {
         try {
             validateHotelData(name, location, pricePerNight);
             
-            Hotel hotel = hotelRepository.findById(hotelId)
+            Hotel hotel = hotelRepository.findByIdBypassingCache(hotelId)
                     .orElseThrow(() -> new HotelNotFoundException(hotelId));
 
             validateHotelOwnership(hotel, serviceProvider, "update this hotel");
@@ -58,7 +79,10 @@ public class HotelService {
             hotel.setName(name);
             hotel.setLocation(location);
             hotel.setPricePerNight(pricePerNight);
-            return hotelRepository.save(hotel);
+            Hotel saved = hotelRepository.save(hotel);
+            searchIndex.put(saved);
+            catalogueCache.invalidate(saved);
+            return saved;
         } catch (HotelNotFoundException | UnauthorizedAccessException | ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -68,12 +92,16 @@ public class HotelService {
 
     public void deleteHotel(Long hotelId, User serviceProvider) {
         try {
-            Hotel hotel = hotelRepository.findById(hotelId)
+            Hotel hotel = hotelRepository.findByIdBypassingCache(hotelId)
                     .orElseThrow(() -> new HotelNotFoundException(hotelId));
 
             validateHotelOwnership(hotel, serviceProvider, "delete this hotel");
 
             hotelRepository.delete(hotel);
+            availabilityIndex.evict(hotelId);
+            dashboardStats.evict(hotelId);
+            searchIndex.remove(hotelId);
+            catalogueCache.invalidate(hotelId);
         } catch (HotelNotFoundException | UnauthorizedAccessException e) {
             throw e;
         } catch (Exception e) {
@@ -96,18 +124,152 @@ public class HotelService {
     }
 
     public List<Hotel> searchHotels(String location, BigDecimal minPrice, BigDecimal maxPrice) {
+        Timer.Sample sample = metrics.start();
+        String filter = filterShape(location, minPrice != null || maxPrice != null);
+        try {
+            HotelCatalogueCache.SearchKey key = HotelCatalogueCache.SearchKey.of(location, minPrice, maxPrice);
+            Optional<HotelCatalogueCache.CachedSearch> cached = catalogueCache.getSearch(key, this::loadHotelsById);
+            if (cached.isPresent()) {
+                metrics.recordSearch(sample, filter, false, "cache");
+                return cached.get().hotels();
+            }
+
+            long generation = catalogueCache.currentGeneration();
+            String source = searchSource(location, minPrice != null || maxPrice != null);
+            List<Hotel> hotels = executeSearch(location, minPrice, maxPrice);
+            catalogueCache.putSearch(key, hotels, null, generation);
+            metrics.recordSearch(sample, filter, false, source);
+            return hotels;
+        } catch (Exception e) {
+            metrics.recordSearch(sample, filter, false, "error");
+            throw new RuntimeException("Unable to search hotels: " + e.getMessage(), e);
+        }
+    }
+
+    public HotelSearchPage searchHotels(String location, BigDecimal maxPrice, HotelSortOrder sort, String cursor, int pageSize) {
+        HotelSearchCursor after = (cursor != null && !cursor.isBlank()) ? HotelSearchCursor.decode(cursor, sort) : null;
+        Timer.Sample sample = metrics.start();
+        String filter = filterShape(location, maxPrice != null);
+        try {
+            HotelCatalogueCache.SearchKey key = HotelCatalogueCache.SearchKey.page(location, maxPrice, sort, cursor, pageSize);
+            Optional<HotelCatalogueCache.CachedSearch> cached = catalogueCache.getSearch(key, this::loadHotelsById);
+            if (cached.isPresent()) {
+                metrics.recordSearch(sample, filter, true, "cache");
+                return new HotelSearchPage(cached.get().hotels(), cached.get().nextCursor());
+            }
+            long generation = catalogueCache.currentGeneration();
+
+            String trimmedLocation = (location != null && !location.trim().isEmpty()) ? location.trim() : null;
+            // Fetch one extra row to learn whether another page exists without a count query
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+
+            List<Hotel> hotels;
+            // Price-only and unfiltered pages are a seek on idx_hotels_price_id or idx_hotels_name_id;
+            // only a location substring needs the index
+            if (trimmedLocation != null && searchIndex.isReady()) {
+                hotels = loadInOrder(searchIndex.findPage(trimmedLocation, maxPrice, sort, after, pageSize + 1));
+            } else if (sort == HotelSortOrder.NAME) {
+                hotels = after == null
+                        ? hotelRepository.findFirstPageByName(trimmedLocation, maxPrice, limit)
+                        : hotelRepository.findPageByNameAfter(trimmedLocation, maxPrice, after.lastValue(), after.lastId(), limit);
+            } else {
+                hotels = after == null
+                        ? hotelRepository.findFirstPageByPrice(trimmedLocation, maxPrice, limit)
+                        : hotelRepository.findPageByPriceAfter(trimmedLocation, maxPrice, after.priceValue(), after.lastId(), limit);
+            }
+
+            HotelSearchPage page = toPage(hotels, sort, pageSize);
+            catalogueCache.putSearch(key, page.hotels(), page.nextCursor(), generation);
+            metrics.recordSearch(sample, filter, true, trimmedLocation != null && searchIndex.isReady() ? "index" : "database");
+            return page;
+        } catch (Exception e) {
+            metrics.recordSearch(sample, filter, true, "error");
+            throw new RuntimeException("Unable to search hotels: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One page of the hotels with no booking overlapping the stay, filtered and ordered like
+     * {@link #searchHotels(String, BigDecimal, HotelSortOrder, String, int)}. Every page is a single
+     * anti-join query; results are not cached because new bookings change them without touching
+     * the catalogue.
+     */
+    public HotelSearchPage searchAvailableHotels(String location, BigDecimal maxPrice, LocalDate checkIn, LocalDate checkOut,
+                                                 HotelSortOrder sort, String cursor, int pageSize) {
+        validateStayDates(checkIn, checkOut);
+        HotelSearchCursor after = (cursor != null && !cursor.isBlank()) ? HotelSearchCursor.decode(cursor, sort) : null;
+        Timer.Sample sample = metrics.start();
+        String shape = filterShape(location, maxPrice != null);
+        String filter = "none".equals(shape) ? "dates" : shape + "_dates";
         try {
-            return executeSearch(location, minPrice, maxPrice);
+            String trimmedLocation = (location != null && !location.trim().isEmpty()) ? location.trim() : null;
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+
+            List<Hotel> hotels;
+            if (sort == HotelSortOrder.NAME) {
+                hotels = after == null
+                        ? hotelRepository.findFirstAvailablePageByName(trimmedLocation, maxPrice, checkIn, checkOut, limit)
+                        : hotelRepository.findAvailablePageByNameAfter(trimmedLocation, maxPrice, checkIn, checkOut,
+                                after.lastValue(), after.lastId(), limit);
+            } else {
+                hotels = after == null
+                        ? hotelRepository.findFirstAvailablePageByPrice(trimmedLocation, maxPrice, checkIn, checkOut, limit)
+                        : hotelRepository.findAvailablePageByPriceAfter(trimmedLocation, maxPrice, checkIn, checkOut,
+                                after.priceValue(), after.lastId(), limit);
+            }
+
+            HotelSearchPage page = toPage(hotels, sort, pageSize);
+            metrics.recordSearch(sample, filter, true, "database");
+            return page;
         } catch (Exception e) {
+            metrics.recordSearch(sample, filter, true, "error");
             throw new RuntimeException("Unable to search hotels: " + e.getMessage(), e);
         }
     }
 
+    // BookingService's own check, so every hotel an availability search returns can actually be booked
+    public void validateStayDates(LocalDate checkIn, LocalDate checkOut) {
+        BookingService.validateBookingDates(checkIn, checkOut);
+    }
+
+    // The extra row fetched past the page size only signals that another page exists
+    private static HotelSearchPage toPage(List<Hotel> hotels, HotelSortOrder sort, int pageSize) {
+        return hotels.size() <= pageSize
+                ? new HotelSearchPage(hotels, null)
+                : new HotelSearchPage(hotels.subList(0, pageSize),
+                        HotelSearchCursor.after(hotels.get(pageSize - 1), sort).encode());
+    }
+
+    private static String filterShape(String location, boolean hasPrice) {
+        boolean hasLocation = location != null && !location.isBlank();
+        if (hasLocation) {
+            return hasPrice ? "location_price" : "location";
+        }
+        return hasPrice ? "price" : "none";
+    }
+
+    // Location and price filters go through the search index once it is loaded; unfiltered listings are SQL
+    private String searchSource(String location, boolean hasPrice) {
+        boolean filtered = (location != null && !location.isBlank()) || hasPrice;
+        return filtered && searchIndex.isReady() ? "index" : "database";
+    }
+
     private List<Hotel> executeSearch(String location, BigDecimal minPrice, BigDecimal maxPrice) {
         String trimmedLocation = (location != null) ? location.trim() : null;
         boolean hasLocation = trimmedLocation != null && !trimmedLocation.isEmpty();
         boolean hasMaxPrice = maxPrice != null;
-        
+
+        if ((hasLocation || hasMaxPrice || minPrice != null) && searchIndex.isReady()) {
+            return loadInOrder(searchIndex.findByPriceRange(hasLocation ? trimmedLocation : null, minPrice, maxPrice));
+        }
+
+        return atOrAbove(minPrice, executeDatabaseSearch(trimmedLocation, hasLocation, maxPrice));
+    }
+
+    // Only used until the search index has loaded, so the price floor is applied in memory
+    private List<Hotel> executeDatabaseSearch(String trimmedLocation, boolean hasLocation, BigDecimal maxPrice) {
+        boolean hasMaxPrice = maxPrice != null;
+
         if (hasLocation && hasMaxPrice) {
             return hotelRepository.findByLocationAndMaxPrice(trimmedLocation, maxPrice);
         } 
@@ -123,9 +285,52 @@ public class HotelService {
         return hotelRepository.findAllWithServiceProvider();
     }
 
+    private static List<Hotel> atOrAbove(BigDecimal minPrice, List<Hotel> hotels) {
+        if (minPrice == null) {
+            return hotels;
+        }
+        return hotels.stream()
+                .filter(hotel -> hotel.getPricePerNight() != null && hotel.getPricePerNight().compareTo(minPrice) >= 0)
+                .toList();
+    }
+
+    // Takes a row lock on the hotel (SELECT ... FOR UPDATE) for the rest of the caller's transaction
+    public Hotel lockForBooking(Long hotelId) {
+        return hotelRepository.findByIdForUpdate(hotelId)
+                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+    }
+
+    private List<Hotel> loadHotelsById(Collection<Long> ids) {
+        return loadInOrder(List.copyOf(ids));
+    }
+
+    // Loads hotels matched by the search index, in chunks to keep IN lists bounded, preserving index order
+    private List<Hotel> loadInOrder(List<Long> ids) {
+        Map<Long, Hotel> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK, ids.size()));
+            for (Hotel hotel : hotelRepository.findAllWithServiceProviderByIdIn(chunk)) {
+                byId.put(hotel.getId(), hotel);
+            }
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Changes with every hotel write, including bulk imports; search pages use it as their validator
+    public HotelCatalogueVersion getCatalogueVersion() {
+        try {
+            return hotelRepository.findCatalogueVersion();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to read the hotel catalogue version", e);
+        }
+    }
+
     public Optional<Hotel> findById(Long id) {
         try {
-            return hotelRepository.findByIdWithServiceProvider(id);
+            return catalogueCache.getHotel(id, hotelRepository::findByIdWithServiceProvider);
         } catch (Exception e) {
             throw new RuntimeException("Unable to find hotel with ID: " + id, e);
         }
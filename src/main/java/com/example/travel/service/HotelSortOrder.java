@@ -0,0 +1,21 @@
+package com.example.travel.service;
+
+import java.util.Locale;
+
+/**
+ * Orderings supported by the paged hotel search. Each is a keyset on (column, id).
+ */
+public enum HotelSortOrder {
+    PRICE,
+    NAME;
+
+    // Search forms fall back to price order for a missing or unknown sort rather than failing the page
+    public static HotelSortOrder fromParameter(String value) {
+        for (HotelSortOrder sort : values()) {
+            if (sort.name().equals(value == null ? "" : value.trim().toUpperCase(Locale.ROOT))) {
+                return sort;
+            }
+        }
+        return PRICE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.travel.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * A provider's portfolio at a glance. Occupancy and upcoming check-ins cover the window
+ * [from, to); bookings and revenue are all-time, with revenue priced at each hotel's current
+ * nightly rate as the booking pages do.
+ */
+public record ProviderDashboard(LocalDate from, LocalDate to, List<HotelRow> hotels) {
+
+    public long windowDays() {
+        return ChronoUnit.DAYS.between(from, to);
+    }
+
+    public long totalBookings() {
+        return hotels.stream().mapToLong(HotelRow::bookings).sum();
+    }
+
+    public BigDecimal totalRevenue() {
+        return hotels.stream().map(HotelRow::revenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public long upcomingCheckIns() {
+        return hotels.stream().mapToLong(HotelRow::upcomingCheckIns).sum();
+    }
+
+    // Booked nights across every hotel over the nights the portfolio could have sold in the window
+    public double occupancyRate() {
+        long capacity = (long) hotels.size() * windowDays();
+        if (capacity == 0) {
+            return 0;
+        }
+        return (double) hotels.stream().mapToLong(HotelRow::bookedNights).sum() / capacity;
+    }
+
+    public record HotelRow(Long hotelId, String name, String location, BigDecimal pricePerNight,
+                           long bookings, long nights, long bookedNights, long upcomingCheckIns,
+                           LocalDate nextCheckIn, long windowDays) {
+
+        public BigDecimal revenue() {
+            return pricePerNight.multiply(BigDecimal.valueOf(nights));
+        }
+
+        public double occupancyRate() {
+            return windowDays == 0 ? 0 : (double) bookedNights / windowDays;
+        }
+    }
+}
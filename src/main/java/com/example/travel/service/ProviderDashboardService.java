@@ -0,0 +1,70 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the provider dashboard from {@link ProviderDashboardStats}. Hotels already counted are read
+ * straight from memory; the stays of any cold hotels are loaded together in one query.
+ */
+@Service
+public class ProviderDashboardService {
+
+    private final HotelService hotelService;
+    private final BookingRepository bookingRepository;
+    private final ProviderDashboardStats dashboardStats;
+    private final int windowDays;
+
+    public ProviderDashboardService(HotelService hotelService,
+                                    BookingRepository bookingRepository,
+                                    ProviderDashboardStats dashboardStats,
+                                    @Value("${travel.provider-dashboard.window-days:30}") int windowDays) {
+        this.hotelService = hotelService;
+        this.bookingRepository = bookingRepository;
+        this.dashboardStats = dashboardStats;
+        this.windowDays = windowDays;
+    }
+
+    public ProviderDashboard getDashboard(User provider) {
+        try {
+            List<Hotel> hotels = hotelService.getHotelsByProvider(provider);
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(windowDays);
+
+            Map<Long, ProviderDashboardStats.HotelStats> stats = new HashMap<>();
+            List<Long> cold = new ArrayList<>();
+            for (Hotel hotel : hotels) {
+                Optional<ProviderDashboardStats.HotelStats> warm = dashboardStats.find(hotel.getId());
+                if (warm.isPresent()) {
+                    stats.put(hotel.getId(), warm.get());
+                } else {
+                    cold.add(hotel.getId());
+                }
+            }
+            if (!cold.isEmpty()) {
+                stats.putAll(dashboardStats.warm(cold, () -> bookingRepository.findStaysByHotelIds(cold)));
+            }
+
+            List<ProviderDashboard.HotelRow> rows = new ArrayList<>(hotels.size());
+            for (Hotel hotel : hotels) {
+                ProviderDashboardStats.Snapshot snapshot = stats.get(hotel.getId()).snapshot(from, to);
+                rows.add(new ProviderDashboard.HotelRow(hotel.getId(), hotel.getName(), hotel.getLocation(),
+                        hotel.getPricePerNight(), snapshot.bookings(), snapshot.nights(),
+                        snapshot.bookedNightsInWindow(), snapshot.checkInsInWindow(), snapshot.nextCheckIn(), windowDays));
+            }
+            return new ProviderDashboard(from, to, rows);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to build dashboard for provider: " + provider.getUsername(), e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.travel.service;
+
+import com.example.travel.repository.projection.HotelStay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory per-hotel booking counters behind the provider dashboard.
+ * A hotel's counters are built from its stays; after that the book and cancel paths adjust them
+ * by one booking at a time, so a dashboard view never rescans the bookings table. Counters are
+ * rebuilt once they are older than {@code ttl-seconds}, which bounds how long bookings made on
+ * other instances stay missing. The counters are not idempotent, so book and cancel paths bracket
+ * their transaction with {@link #beginChange} and {@link #endChange}: a warm never installs counters
+ * while a change is in flight, since its load may already include a stay that is about to be counted.
+ * A night is each day from check-in up to, but not including, check-out.
+ */
+@Component
+public class ProviderDashboardStats {
+
+    private final int maxHotels;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, HotelStats> stats = new ConcurrentHashMap<>();
+    // Only hotels being warmed have an entry, so bookings made during the load can be detected
+    private final ConcurrentMap<Long, Load> loads = new ConcurrentHashMap<>();
+    // Bookings and cancellations between beginChange and endChange, by hotel; only touched inside stats.compute
+    private final Map<Long, Integer> changesInFlight = new ConcurrentHashMap<>();
+
+    public ProviderDashboardStats(@Value("${travel.provider-dashboard.max-hotels:10000}") int maxHotels,
+                                  @Value("${travel.provider-dashboard.ttl-seconds:300}") long ttlSeconds) {
+        this.maxHotels = maxHotels;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public Optional<HotelStats> find(Long hotelId) {
+        HotelStats hotelStats = stats.get(hotelId);
+        if (hotelStats != null && expired(hotelStats)) {
+            stats.remove(hotelId, hotelStats);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(hotelStats);
+    }
+
+    /**
+     * Builds counters for cold hotels from one load of their stays. Every requested hotel gets counters
+     * in the result; they are kept for later views only while the index has room and no booking for
+     * the hotel changed during the load, otherwise they serve this call alone.
+     */
+    public Map<Long, HotelStats> warm(Collection<Long> hotelIds, Supplier<List<HotelStay>> loader) {
+        Map<Long, Long> changesBeforeLoad = new HashMap<>();
+        for (Long hotelId : hotelIds) {
+            loads.compute(hotelId, (id, load) -> {
+                Load current = load != null ? load : new Load();
+                changesBeforeLoad.put(id, current.join());
+                return current;
+            });
+        }
+        try {
+            List<HotelStay> stays = loader.get();
+
+            Map<Long, HotelStats> built = new HashMap<>();
+            for (Long hotelId : hotelIds) {
+                built.put(hotelId, new HotelStats());
+            }
+            for (HotelStay stay : stays) {
+                HotelStats hotelStats = built.get(stay.hotelId());
+                if (hotelStats != null) {
+                    hotelStats.add(stay.checkInDate(), stay.checkOutDate());
+                }
+            }
+
+            if (stats.size() >= maxHotels) {
+                stats.values().removeIf(this::expired);
+            }
+            Map<Long, HotelStats> result = new HashMap<>();
+            built.forEach((hotelId, candidate) -> {
+                HotelStats installed = stats.compute(hotelId, (id, current) -> {
+                    if (current != null) {
+                        return current;
+                    }
+                    boolean unchanged = loads.get(id).changes == changesBeforeLoad.get(id)
+                            && !changesInFlight.containsKey(id);
+                    return unchanged && stats.size() < maxHotels ? candidate : null;
+                });
+                result.put(hotelId, installed != null ? installed : candidate);
+            });
+            return result;
+        } finally {
+            for (Long hotelId : hotelIds) {
+                loads.computeIfPresent(hotelId, (id, load) -> load.leave() ? null : load);
+            }
+        }
+    }
+
+    /**
+     * Marks a booking or cancellation for the hotel as in flight. Call it before the transaction
+     * that writes the change, and {@link #endChange} once the counters were adjusted or the
+     * transaction failed.
+     */
+    public void beginChange(Long hotelId) {
+        stats.compute(hotelId, (id, hotelStats) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            changesInFlight.merge(id, 1, Integer::sum);
+            return hotelStats;
+        });
+    }
+
+    public void endChange(Long hotelId) {
+        stats.compute(hotelId, (id, hotelStats) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            changesInFlight.computeIfPresent(id, (changeId, count) -> count > 1 ? count - 1 : null);
+            return hotelStats;
+        });
+    }
+
+    public void recordBooking(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        stats.compute(hotelId, (id, hotelStats) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            if (hotelStats != null) {
+                hotelStats.add(checkInDate, checkOutDate);
+            }
+            return hotelStats;
+        });
+    }
+
+    public void removeBooking(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        stats.compute(hotelId, (id, hotelStats) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            if (hotelStats != null) {
+                hotelStats.remove(checkInDate, checkOutDate);
+            }
+            return hotelStats;
+        });
+    }
+
+    public void evict(Long hotelId) {
+        stats.compute(hotelId, (id, hotelStats) -> {
+            loads.computeIfPresent(id, (loadId, load) -> load.change());
+            return null;
+        });
+    }
+
+    private boolean expired(HotelStats hotelStats) {
+        return System.nanoTime() - hotelStats.builtAt >= ttlNanos;
+    }
+
+    // Warms in progress for one hotel and the bookings changed since the first of them began; only touched inside compute
+    private static final class Load {
+
+        private int loaders;
+        private long changes;
+
+        long join() {
+            loaders++;
+            return changes;
+        }
+
+        Load change() {
+            changes++;
+            return this;
+        }
+
+        // True once the last warm has finished, so the entry can be dropped
+        boolean leave() {
+            return --loaders == 0;
+        }
+    }
+
+    /**
+     * Counters of a single hotel: all-time bookings and nights, plus booked nights and check-ins by
+     * date from today on. Dated entries that fall behind today are dropped as the counters are read.
+     */
+    public static final class HotelStats {
+
+        private final long builtAt = System.nanoTime();
+        private long bookings;
+        private long nights;
+        private final TreeMap<LocalDate, Integer> bookedNights = new TreeMap<>();
+        private final TreeMap<LocalDate, Integer> checkIns = new TreeMap<>();
+
+        synchronized void add(LocalDate checkInDate, LocalDate checkOutDate) {
+            bookings++;
+            nights += ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+            adjust(checkInDate, checkOutDate, 1);
+        }
+
+        synchronized void remove(LocalDate checkInDate, LocalDate checkOutDate) {
+            bookings--;
+            nights -= ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+            adjust(checkInDate, checkOutDate, -1);
+        }
+
+        private void adjust(LocalDate checkInDate, LocalDate checkOutDate, int delta) {
+            LocalDate today = LocalDate.now();
+            if (!checkInDate.isBefore(today)) {
+                bump(checkIns, checkInDate, delta);
+            }
+            for (LocalDate night = checkInDate.isBefore(today) ? today : checkInDate;
+                 night.isBefore(checkOutDate); night = night.plusDays(1)) {
+                bump(bookedNights, night, delta);
+            }
+        }
+
+        // Counts reaching zero are removed, so the maps only hold dates that still have bookings
+        private static void bump(TreeMap<LocalDate, Integer> counts, LocalDate date, int delta) {
+            if (delta > 0) {
+                counts.merge(date, delta, Integer::sum);
+            } else {
+                counts.computeIfPresent(date, (day, count) -> count + delta > 0 ? count + delta : null);
+            }
+        }
+
+        /**
+         * All-time totals plus booked nights and check-ins within [from, to).
+         */
+        public synchronized Snapshot snapshot(LocalDate from, LocalDate to) {
+            LocalDate today = LocalDate.now();
+            bookedNights.headMap(today).clear();
+            checkIns.headMap(today).clear();
+
+            long nightsInWindow = 0;
+            for (int count : bookedNights.subMap(from, to).values()) {
+                nightsInWindow += count;
+            }
+            long checkInsInWindow = 0;
+            for (int count : checkIns.subMap(from, to).values()) {
+                checkInsInWindow += count;
+            }
+            return new Snapshot(bookings, nights, nightsInWindow, checkInsInWindow, checkIns.ceilingKey(from));
+        }
+    }
+
+    public record Snapshot(long bookings, long nights, long bookedNightsInWindow, long checkInsInWindow,
+                           LocalDate nextCheckIn) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.travel.service;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Bounded max-heap of {@link HotelPriceColumns} slots that keeps the first {@code capacity} slots
+ * offered in the given order. A keyset page costs O(n log k) over the matches instead of sorting
+ * all of them, and never boxes a slot. Not thread-safe.
+ */
+final class SlotHeap {
+
+    private final int[] slots;
+    private final IntBinaryOperator order;
+    private int size;
+
+    SlotHeap(int capacity, IntBinaryOperator order) {
+        this.slots = new int[Math.max(0, capacity)];
+        this.order = order;
+    }
+
+    void offer(int slot) {
+        if (size < slots.length) {
+            slots[size] = slot;
+            siftUp(size++);
+        } else if (size > 0 && order.applyAsInt(slot, slots[0]) < 0) {
+            slots[0] = slot;
+            siftDown(size);
+        }
+    }
+
+    // Moves the largest slot to the end until the heap is empty, leaving the kept slots in ascending order
+    int[] drainInOrder() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(end);
+        }
+        int[] ordered = Arrays.copyOf(slots, size);
+        size = 0;
+        return ordered;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.applyAsInt(slots[index], slots[parent]) <= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int end) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= end) {
+                return;
+            }
+            if (child + 1 < end && order.applyAsInt(slots[child + 1], slots[child]) > 0) {
+                child++;
+            }
+            if (order.applyAsInt(slots[child], slots[index]) <= 0) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = slots[a];
+        slots[a] = slots[b];
+        slots[b] = slot;
+    }
+}
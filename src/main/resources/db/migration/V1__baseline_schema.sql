@@ -0,0 +1,37 @@
+-- Baseline schema, equivalent to what spring.jpa.hibernate.ddl-auto=update generated from the entities.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE users (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    username       VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    password       VARCHAR(255) NOT NULL,
+    role           VARCHAR(20)  NOT NULL,
+    full_name      VARCHAR(100),
+    business_name  VARCHAR(150),
+    contact_number VARCHAR(25),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE hotels (
+    id                  BIGINT         NOT NULL AUTO_INCREMENT,
+    name                VARCHAR(255)   NOT NULL,
+    location            VARCHAR(255)   NOT NULL,
+    price_per_night     DECIMAL(10, 2) NOT NULL,
+    service_provider_id BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_hotels_service_provider FOREIGN KEY (service_provider_id) REFERENCES users (id)
+);
+
+CREATE TABLE bookings (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    check_in_date  DATE   NOT NULL,
+    check_out_date DATE   NOT NULL,
+    user_id        BIGINT NOT NULL,
+    hotel_id       BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
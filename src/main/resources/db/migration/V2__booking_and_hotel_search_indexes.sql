@@ -0,0 +1,11 @@
+-- Conflict checks, availability calendars and stay projections: hotel_id = ? AND check_in_date <= ? AND check_out_date >= ?
+CREATE INDEX idx_bookings_hotel_dates ON bookings (hotel_id, check_in_date, check_out_date);
+
+-- My bookings: user_id = ? ORDER BY check_in_date DESC
+CREATE INDEX idx_bookings_user_check_in ON bookings (user_id, check_in_date DESC);
+
+-- Price filters and the price-ordered keyset pages: price_per_night <= ? ORDER BY price_per_night, id
+CREATE INDEX idx_hotels_price_id ON hotels (price_per_night, id);
+
+-- Name-ordered keyset pages: ORDER BY name, id
+CREATE INDEX idx_hotels_name_id ON hotels (name, id);
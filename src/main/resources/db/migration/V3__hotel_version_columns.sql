@@ -0,0 +1,6 @@
+-- Optimistic-lock version and last write time per hotel; they back the ETag and Last-Modified headers on hotel pages
+ALTER TABLE hotels ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE hotels ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+-- Catalogue fingerprint for search pages: COUNT(*), MAX(updated_at)
+CREATE INDEX idx_hotels_updated_at ON hotels (updated_at);
@@ -0,0 +1,202 @@
+package com.example.travel.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the set-based availability search (one NOT EXISTS anti-join per page) with asking
+ * every location match for a conflict one hotel at a time, the way the booking form does.
+ * The database is file-backed under target/ so five million bookings do not have to fit in
+ * the heap. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Availability Search Benchmark")
+class AvailabilitySearchBenchmarkTest {
+
+    private static final String[] CITIES = {"North Goa", "South Goa", "Mumbai", "Pune", "Manali", "Jaipur",
+            "Udaipur", "Kochi", "Shimla", "Rishikesh", "Varanasi", "Bengaluru", "Chennai", "Darjeeling"};
+    private static final String[] QUERIES = {"goa", "mumbai", "pur", "kochi"};
+    private static final int PAGE_SIZE = 25;
+    private static final int ROUNDS = 5;
+    private static final LocalDate ORIGIN = LocalDate.of(2030, 1, 1);
+
+    private static final String LOCATION_FILTER = "LOWER(h.location) LIKE LOWER(CONCAT('%', ?, '%'))";
+    private static final String NOT_BOOKED = "NOT EXISTS (SELECT b.id FROM bookings b WHERE b.hotel_id = h.id " +
+            "AND b.check_in_date <= ? AND b.check_out_date >= ?)";
+
+    @ParameterizedTest(name = "{0} hotels x {1} bookings each")
+    @CsvSource({"5000, 100", "50000, 100"})
+    void compareAntiJoinWithPerHotelChecks(int hotelCount, int bookingsPerHotel) throws Exception {
+        Path directory = Path.of("target", "availability-benchmark");
+        deleteRecursively(directory);
+        String url = "jdbc:h2:file:./" + directory.resolve("db" + hotelCount) + ";MODE=MySQL";
+        try (Connection connection = DriverManager.getConnection(url)) {
+            seed(connection, hotelCount, bookingsPerHotel);
+
+            String pageSql = "SELECT h.id FROM hotels h WHERE " + LOCATION_FILTER + " AND " + NOT_BOOKED +
+                    " ORDER BY h.price_per_night, h.id LIMIT " + PAGE_SIZE;
+            String allSql = "SELECT h.id FROM hotels h WHERE " + LOCATION_FILTER + " AND " + NOT_BOOKED;
+            try (PreparedStatement page = connection.prepareStatement(pageSql);
+                 PreparedStatement all = connection.prepareStatement(allSql);
+                 PreparedStatement matches = connection.prepareStatement(
+                         "SELECT h.id FROM hotels h WHERE " + LOCATION_FILTER + " ORDER BY h.price_per_night, h.id");
+                 PreparedStatement conflict = connection.prepareStatement(
+                         "SELECT 1 FROM bookings WHERE hotel_id = ? AND check_in_date <= ? AND check_out_date >= ? LIMIT 1")) {
+
+                Random random = new Random(3);
+                long pageNanos = 0;
+                long allNanos = 0;
+                long perHotelNanos = 0;
+                long probes = 0;
+                for (int round = 0; round <= ROUNDS; round++) {
+                    for (String query : QUERIES) {
+                        LocalDate checkIn = ORIGIN.plusDays(random.nextInt(700));
+                        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+
+                        long started = System.nanoTime();
+                        List<Long> firstPage = ids(bind(page, query, checkIn, checkOut));
+                        long pageElapsed = System.nanoTime() - started;
+
+                        started = System.nanoTime();
+                        int available = ids(bind(all, query, checkIn, checkOut)).size();
+                        long allElapsed = System.nanoTime() - started;
+
+                        // One conflict probe per location match, as clicking through search results would
+                        started = System.nanoTime();
+                        matches.setString(1, query);
+                        List<Long> candidates = ids(matches);
+                        List<Long> free = new ArrayList<>();
+                        for (Long hotelId : candidates) {
+                            conflict.setLong(1, hotelId);
+                            conflict.setDate(2, Date.valueOf(checkOut));
+                            conflict.setDate(3, Date.valueOf(checkIn));
+                            try (ResultSet resultSet = conflict.executeQuery()) {
+                                if (!resultSet.next()) {
+                                    free.add(hotelId);
+                                }
+                            }
+                        }
+                        long perHotelElapsed = System.nanoTime() - started;
+
+                        assertThat(available).as(query).isEqualTo(free.size());
+                        assertThat(firstPage).as(query).isEqualTo(free.subList(0, Math.min(PAGE_SIZE, free.size())));
+                        // Round 0 is warm-up
+                        if (round > 0) {
+                            pageNanos += pageElapsed;
+                            allNanos += allElapsed;
+                            perHotelNanos += perHotelElapsed;
+                            probes += candidates.size();
+                        }
+                    }
+                }
+
+                int samples = ROUNDS * QUERIES.length;
+                System.out.printf("%,d hotels x %,d bookings: anti-join page %.2f ms, anti-join all %.2f ms, " +
+                                "per-hotel checks %.2f ms (%,d statements/search, %.1fx slower than the page)%n",
+                        hotelCount, (long) hotelCount * bookingsPerHotel,
+                        pageNanos / 1e6 / samples, allNanos / 1e6 / samples, perHotelNanos / 1e6 / samples,
+                        probes / samples + 1, (double) perHotelNanos / Math.max(pageNanos, 1));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static PreparedStatement bind(PreparedStatement statement, String query,
+                                          LocalDate checkIn, LocalDate checkOut) throws Exception {
+        statement.setString(1, query);
+        statement.setDate(2, Date.valueOf(checkOut));
+        statement.setDate(3, Date.valueOf(checkIn));
+        return statement;
+    }
+
+    private static List<Long> ids(PreparedStatement statement) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // Same columns and indexes as the Flyway migrations; back-to-back stays cover roughly two years per hotel
+    private static void seed(Connection connection, int hotelCount, int bookingsPerHotel) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE hotels (id BIGINT PRIMARY KEY, name VARCHAR(255), " +
+                    "location VARCHAR(255), price_per_night DECIMAL(10, 2))");
+            statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, check_in_date DATE, " +
+                    "check_out_date DATE, hotel_id BIGINT)");
+            statement.execute("CREATE INDEX idx_bookings_hotel_dates ON bookings (hotel_id, check_in_date, check_out_date)");
+            statement.execute("CREATE INDEX idx_hotels_price_id ON hotels (price_per_night, id)");
+        }
+
+        connection.setAutoCommit(false);
+        Random random = new Random(7);
+        long bookingId = 0;
+        try (PreparedStatement hotels = connection.prepareStatement("INSERT INTO hotels VALUES (?, ?, ?, ?)");
+             PreparedStatement bookings = connection.prepareStatement("INSERT INTO bookings VALUES (?, ?, ?, ?)")) {
+            for (long hotelId = 1; hotelId <= hotelCount; hotelId++) {
+                hotels.setLong(1, hotelId);
+                hotels.setString(2, "Hotel " + hotelId);
+                hotels.setString(3, CITIES[random.nextInt(CITIES.length)] + " Sector " + random.nextInt(500));
+                hotels.setBigDecimal(4, BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2));
+                hotels.addBatch();
+
+                LocalDate checkIn = ORIGIN.plusDays(random.nextInt(10));
+                for (int stay = 0; stay < bookingsPerHotel; stay++) {
+                    LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                    bookings.setLong(1, ++bookingId);
+                    bookings.setDate(2, Date.valueOf(checkIn));
+                    bookings.setDate(3, Date.valueOf(checkOut));
+                    bookings.setLong(4, hotelId);
+                    bookings.addBatch();
+                    checkIn = checkOut.plusDays(1 + random.nextInt(4));
+                }
+                if (hotelId % 500 == 0) {
+                    hotels.executeBatch();
+                    bookings.executeBatch();
+                    connection.commit();
+                }
+            }
+            hotels.executeBatch();
+            bookings.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws Exception {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.travel.benchmark;
+
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.projection.HotelSearchEntry;
+import com.example.travel.service.HotelSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the trigram search index with the leading-wildcard LIKE queries it replaces.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Hotel Search Benchmark")
+class HotelSearchBenchmarkTest {
+
+    private static final String[] CITIES = {"North Goa", "South Goa", "Mumbai", "Pune", "Manali", "Jaipur",
+            "Udaipur", "Kochi", "Shimla", "Rishikesh", "Varanasi", "Bengaluru", "Chennai", "Darjeeling"};
+    private static final String[] QUERIES = {"goa", "mumbai", "sector 42", "pur", "kochi sector 1"};
+    private static final int ROUNDS = 5;
+
+    @ParameterizedTest(name = "{0} hotels")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void compareIndexWithLikeQueries(int hotelCount) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:search" + hotelCount)) {
+            List<HotelSearchEntry> hotels = seed(connection, hotelCount);
+            HotelSearchIndex index = new HotelSearchIndex(mock(HotelRepository.class), true);
+            index.load(hotels);
+
+            String sql = "SELECT id FROM hotels WHERE LOWER(location) LIKE LOWER(CONCAT('%', ?, '%'))";
+            try (PreparedStatement like = connection.prepareStatement(sql)) {
+                long likeNanos = 0;
+                long indexNanos = 0;
+                for (int round = 0; round <= ROUNDS; round++) {
+                    for (String query : QUERIES) {
+                        long started = System.nanoTime();
+                        int likeMatches = countRows(like, query);
+                        long likeElapsed = System.nanoTime() - started;
+
+                        started = System.nanoTime();
+                        int indexMatches = index.findByLocation(query, null).size();
+                        long indexElapsed = System.nanoTime() - started;
+
+                        assertThat(indexMatches).as(query).isEqualTo(likeMatches);
+                        // Round 0 is warm-up
+                        if (round > 0) {
+                            likeNanos += likeElapsed;
+                            indexNanos += indexElapsed;
+                        }
+                    }
+                }
+
+                int samples = ROUNDS * QUERIES.length;
+                System.out.printf("%,d hotels: LIKE %.2f ms/query, index %.2f ms/query (%.1fx)%n",
+                        hotelCount, likeNanos / 1e6 / samples, indexNanos / 1e6 / samples,
+                        (double) likeNanos / Math.max(indexNanos, 1));
+            }
+        }
+    }
+
+    private static int countRows(PreparedStatement statement, String query) throws Exception {
+        statement.setString(1, query);
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static List<HotelSearchEntry> seed(Connection connection, int hotelCount) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE hotels (id BIGINT PRIMARY KEY, name VARCHAR(255), " +
+                    "location VARCHAR(255), price_per_night DECIMAL(10, 2))");
+        }
+
+        Random random = new Random(7);
+        List<HotelSearchEntry> hotels = new ArrayList<>(hotelCount);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO hotels VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= hotelCount; id++) {
+                String location = CITIES[random.nextInt(CITIES.length)] + " Sector " + random.nextInt(500);
+                HotelSearchEntry hotel = new HotelSearchEntry(id, "Hotel " + id, location,
+                        BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2));
+                hotels.add(hotel);
+
+                insert.setLong(1, hotel.id());
+                insert.setString(2, hotel.name());
+                insert.setString(3, hotel.location());
+                insert.setBigDecimal(4, hotel.pricePerNight());
+                insert.addBatch();
+                if (id % 5_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return hotels;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.travel.controller;
+
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.security.TravelUserPrincipal;
+import com.example.travel.service.BookingExportService;
+import com.example.travel.service.BookingIntakeService;
+import com.example.travel.service.BookingService;
+import com.example.travel.service.HotelService;
+import com.example.travel.service.ProviderDashboardService;
+import com.example.travel.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replays a burst of page views through the controllers and counts user lookups, comparing a
+ * session holding the enriched principal against one holding a bare username.
+ */
+@DisplayName("Current User Resolution Load Tests")
+class CurrentUserResolutionLoadTest {
+
+    private static final int REQUESTS = 500;
+
+    private UserService userService;
+    private MockMvc mockMvc;
+    private User traveler;
+
+    @BeforeEach
+    void setUp() {
+        traveler = new User();
+        traveler.setId(7L);
+        traveler.setUsername("traveler");
+        traveler.setEmail("traveler@example.com");
+        traveler.setPassword("encodedPassword");
+        traveler.setFullName("Tina Traveler");
+        traveler.setRole(UserRole.USER);
+
+        userService = mock(UserService.class);
+        when(userService.findByUsername(anyString())).thenReturn(Optional.of(traveler));
+
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.getUpcomingBookings(any(User.class), any(Pageable.class))).thenReturn(Page.empty());
+        when(bookingService.getPastBookings(any(User.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        CurrentUserResolver resolver = new CurrentUserResolver(userService);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new DashboardController(resolver, mock(ProviderDashboardService.class)),
+                new BookingController(bookingService, mock(HotelService.class), resolver,
+                        mock(BookingExportService.class), mock(BookingIntakeService.class))).build();
+    }
+
+    @Test
+    @DisplayName("Test Case 62: Should serve authenticated pages without a user lookup per request")
+    void shouldResolveUserFromPrincipalWithoutLookups() throws Exception {
+        // Given
+        TravelUserPrincipal principal = TravelUserPrincipal.from(traveler);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        // When
+        replay(authentication);
+
+        // Then
+        verify(userService, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Test Case 63: Should fall back to one lookup per request for a bare principal")
+    void shouldLookUpUserForBarePrincipal() throws Exception {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("traveler", null, List.of());
+
+        // When
+        replay(authentication);
+
+        // Then - the pre-change cost: every page view re-reads the user row
+        verify(userService, times(2 * REQUESTS)).findByUsername("traveler");
+    }
+
+    @Test
+    @DisplayName("Test Case 64: Should carry id, role and display fields on the principal without the password")
+    void shouldCarryDisplayFieldsOnPrincipal() {
+        TravelUserPrincipal principal = TravelUserPrincipal.from(traveler);
+        principal.eraseCredentials();
+
+        User resolved = principal.toUser();
+        assertThat(resolved.getId()).isEqualTo(7L);
+        assertThat(resolved.getRole()).isEqualTo(UserRole.USER);
+        assertThat(resolved.getFullName()).isEqualTo("Tina Traveler");
+        assertThat(resolved.getPassword()).isNull();
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+
+    private void replay(Authentication authentication) throws Exception {
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/dashboard").principal(authentication))
+                    .andExpect(redirectedUrl("/hotels/search"));
+            mockMvc.perform(get("/bookings/my-bookings").principal(authentication))
+                    .andExpect(status().isOk());
+        }
+    }
+}
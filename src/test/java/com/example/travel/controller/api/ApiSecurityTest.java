@@ -0,0 +1,229 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.TravelApplication;
+import com.example.travel.security.PasswordHashingExecutor;
+import com.example.travel.service.HotelSearchIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on H2 and calls the JSON API over HTTP, so the real security chain,
+ * password hashing pool, booking intake and Tomcat's response compression are all in the path.
+ */
+@DisplayName("JSON API Security Tests")
+class ApiSecurityTest {
+
+    private static final int HOTELS = 40;
+
+    private static ConfigurableApplicationContext context;
+    private static String baseUrl;
+    private static Long hotelId;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @BeforeAll
+    static void startApplication() {
+        context = new SpringApplicationBuilder(TravelApplication.class)
+                // Command-line arguments, since builder properties are only defaults and application.properties would win
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:api-security;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        // One hashing thread and one queue slot, so two blocked tasks saturate the pool
+                        "--travel.password.hashing-threads=1",
+                        "--travel.password.queue-capacity=1");
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(HotelSearchIndex.class).rebuild();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test Case 98: Should answer 401, 403 and 503 from the API chain and skip BCrypt for verified credentials")
+    void shouldGuardApiWithBasicAuth() throws Exception {
+        // No or wrong credentials get a Basic challenge, never the login page
+        HttpResponse<String> anonymous = send(get("/api/v1/hotels"));
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(anonymous.headers().firstValue("WWW-Authenticate")).hasValue("Basic realm=\"Travel Paradox API\"");
+        assertThat(send(get("/api/v1/hotels", "traveler", "wrong")).statusCode()).isEqualTo(401);
+
+        // A provider may browse hotels but has no bookings API, and paths outside the API map are closed
+        assertThat(send(get("/api/v1/hotels", "apiprovider", "password")).statusCode()).isEqualTo(200);
+        assertThat(send(get("/api/v1/bookings", "apiprovider", "password")).statusCode()).isEqualTo(403);
+        assertThat(send(get("/api/v1/users", "traveler", "password")).statusCode()).isEqualTo(403);
+        assertThat(send(get("/api/v1/bookings", "traveler", "password")).statusCode()).isEqualTo(200);
+
+        // When the hashing pool is saturated
+        PasswordHashingExecutor hashing = context.getBean(PasswordHashingExecutor.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> hashing.execute("verify", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        try {
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hashing.execute("verify", () -> true));
+            Thread.sleep(50);
+
+            // Then credentials that still need checking are shed with a 503 rather than a 401
+            HttpResponse<String> shed = send(get("/api/v1/hotels", "apiprovider2", "password"));
+            assertThat(shed.statusCode()).isEqualTo(503);
+            assertThat(shed.headers().firstValue("Retry-After")).hasValue("1");
+
+            // And credentials verified earlier are served without touching the pool
+            assertThat(send(get("/api/v1/hotels", "traveler", "password")).statusCode()).isEqualTo(200);
+
+            release.countDown();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            busy.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(send(get("/api/v1/hotels", "apiprovider2", "password")).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Test Case 99: Should gzip large JSON responses only, and never the HTML pages")
+    void shouldCompressLargeJsonOnly() throws Exception {
+        HttpResponse<String> page = send(get("/api/v1/hotels?size=" + HOTELS, "traveler", "password")
+                .header("Accept-Encoding", "gzip"));
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(page.headers().firstValue("Content-Encoding")).hasValue("gzip");
+
+        // Under the 1KB threshold the body is sent as is
+        HttpResponse<String> small = send(get("/api/v1/hotels?size=1&fields=id", "traveler", "password")
+                .header("Accept-Encoding", "gzip"));
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+
+        // A client that does not ask for gzip gets plain JSON
+        HttpResponse<String> plain = send(get("/api/v1/hotels?size=" + HOTELS, "traveler", "password"));
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(plain.body()).startsWith("{");
+
+        // The login page carries a CSRF token, so it stays uncompressed
+        HttpResponse<String> login = send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Accept-Encoding", "gzip").GET());
+        assertThat(login.statusCode()).isEqualTo(200);
+        assertThat(login.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Case 100: Should book once however often a client retries the same Idempotency-Key")
+    void shouldBookOnceForRetriedKey() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        String body = "{\"hotelId\":" + hotelId + ",\"checkInDate\":\"" + checkIn
+                + "\",\"checkOutDate\":\"" + checkIn.plusDays(2) + "\"}";
+
+        // When - the same request is sent three times, as a client does after timeouts
+        for (int attempt = 0; attempt < 3; attempt++) {
+            HttpResponse<String> response = send(post("/api/v1/bookings", body).header("Idempotency-Key", "retry-me"));
+            assertThat(response.statusCode()).isIn(200, 202);
+            assertThat(response.headers().firstValue("Location")).hasValue("/api/v1/bookings/requests/retry-me");
+        }
+
+        // Then - the request settles once and exactly one booking exists
+        HttpResponse<String> status = send(get("/api/v1/bookings/requests/retry-me", "traveler", "password"));
+        for (int polls = 0; status.statusCode() == 202 && polls < 100; polls++) {
+            Thread.sleep(50);
+            status = send(get("/api/v1/bookings/requests/retry-me", "traveler", "password"));
+        }
+        assertThat(status.statusCode()).isEqualTo(200);
+        assertThat(status.body()).contains("\"state\":\"CONFIRMED\"");
+        Long bookings = context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT COUNT(*) FROM bookings WHERE hotel_id = ?", Long.class, hotelId);
+        assertThat(bookings).isEqualTo(1);
+
+        // A request without a key is refused rather than booked unguarded
+        assertThat(send(post("/api/v1/bookings", body)).statusCode()).isEqualTo(400);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder get(String path, String username, String password) {
+        return get(path).header("Authorization", basic(username, password));
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", basic("traveler", "password"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        String password = new BCryptPasswordEncoder().encode("password");
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('apiprovider', 'apiprovider@example.com', ?, 'PROVIDER')", password);
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('apiprovider2', 'apiprovider2@example.com', ?, 'PROVIDER')", password);
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('traveler', 'traveler@example.com', ?, 'USER')", password);
+
+        Long providerId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'apiprovider'", Long.class);
+        List<Object[]> hotels = new ArrayList<>();
+        for (int i = 0; i < HOTELS; i++) {
+            hotels.add(new Object[]{"Api Hotel " + i, "North Goa Sector " + i, BigDecimal.valueOf(1_000 + i * 10L, 2), providerId});
+        }
+        jdbc.batchUpdate("INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)", hotels);
+        hotelId = jdbc.queryForObject("SELECT MIN(id) FROM hotels", Long.class);
+    }
+}
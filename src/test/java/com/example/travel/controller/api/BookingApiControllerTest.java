@@ -0,0 +1,166 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.exception.BookingQueueFullException;
+import com.example.travel.exception.BookingRequestKeyReusedException;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.projection.BookingSummary;
+import com.example.travel.security.CurrentUserResolver;
+import com.example.travel.service.BookingIntakeService;
+import com.example.travel.service.BookingRequestStatus;
+import com.example.travel.service.BookingService;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("BookingApiController Tests")
+class BookingApiControllerTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 5, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2030, 5, 4);
+
+    private BookingService bookingService;
+    private BookingIntakeService bookingIntakeService;
+    private MockMvc mockMvc;
+    private User traveler;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        traveler = new User();
+        traveler.setId(2L);
+        traveler.setUsername("traveler");
+        traveler.setRole(UserRole.USER);
+        authentication = UsernamePasswordAuthenticationToken.authenticated(
+                "traveler", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        bookingService = mock(BookingService.class);
+        bookingIntakeService = mock(BookingIntakeService.class);
+        CurrentUserResolver currentUserResolver = mock(CurrentUserResolver.class);
+        when(currentUserResolver.resolve(any())).thenReturn(Optional.of(traveler));
+
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                .filters(FieldSelection.ALL_FIELDS)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingApiController(bookingService, bookingIntakeService, currentUserResolver))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .setMessageConverters(json)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test Case 96: Should queue API bookings through the idempotent intake and map its refusals")
+    void shouldBookThroughIntake() throws Exception {
+        // Given
+        BookingRequestStatus queued = requestStatus("k-1", BookingRequestStatus.State.QUEUED, null, null);
+        BookingRequestStatus confirmed = requestStatus("k-1", BookingRequestStatus.State.CONFIRMED, 77L, null);
+        when(bookingIntakeService.submit("k-1", 10L, CHECK_IN, CHECK_OUT, traveler)).thenReturn(queued, confirmed);
+        when(bookingIntakeService.find("k-1", traveler)).thenReturn(Optional.of(confirmed));
+        when(bookingIntakeService.find("gone", traveler)).thenReturn(Optional.empty());
+
+        // When & Then - the first submission is accepted and points at its status
+        mockMvc.perform(createBooking("k-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/bookings/requests/k-1"))
+                .andExpect(jsonPath("$.key").value("k-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andExpect(jsonPath("$.checkInDate").value("2030-05-01"));
+
+        // A retry with the same key answers with the outcome of the first request
+        mockMvc.perform(createBooking("k-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("CONFIRMED"))
+                .andExpect(jsonPath("$.bookingId").value(77));
+        mockMvc.perform(get("/api/v1/bookings/requests/k-1").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(77));
+        mockMvc.perform(get("/api/v1/bookings/requests/gone").principal(authentication))
+                .andExpect(status().isNotFound());
+
+        // Without a key there is nothing to de-duplicate on, so the request is refused before the intake
+        mockMvc.perform(post("/api/v1/bookings").principal(authentication)
+                        .contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isBadRequest());
+
+        // A key reused for other dates, and a full lane, come back as problem details
+        when(bookingIntakeService.submit(eq("k-2"), any(), any(), any(), any()))
+                .thenThrow(new BookingRequestKeyReusedException("This booking request was already sent for another hotel or other dates."));
+        mockMvc.perform(createBooking("k-2"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+
+        when(bookingIntakeService.submit(eq("k-3"), any(), any(), any(), any()))
+                .thenThrow(new BookingQueueFullException("Too many bookings are being processed right now.", null));
+        mockMvc.perform(createBooking("k-3"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", BookingQueueFullException.RETRY_AFTER_SECONDS));
+
+        verify(bookingIntakeService, times(4)).submit(anyString(), any(), any(), any(), any());
+        verify(bookingService, never()).bookHotel(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test Case 97: Should page the caller's bookings by scope and reject an unknown scope")
+    void shouldListBookingsByScope() throws Exception {
+        // Given
+        BookingSummary summary = new BookingSummary(5L, 10L, "Goa Palms", "North Goa", new BigDecimal("100.00"), CHECK_IN, CHECK_OUT);
+        when(bookingService.getUpcomingBookings(eq(traveler), any()))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 200), 1));
+
+        // When & Then - the page size is capped and the total comes from nights times the nightly price
+        mockMvc.perform(get("/api/v1/bookings").param("size", "1000").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].nights").value(3))
+                .andExpect(jsonPath("$.items[0].totalPrice").value(300.00))
+                .andExpect(jsonPath("$.totalElements").value(1));
+        verify(bookingService).getUpcomingBookings(traveler, PageRequest.of(0, 200));
+
+        mockMvc.perform(get("/api/v1/bookings").param("scope", "someday").principal(authentication))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("scope must be 'upcoming' or 'past'"));
+    }
+
+    private MockHttpServletRequestBuilder createBooking(String key) {
+        return post("/api/v1/bookings")
+                .principal(authentication)
+                .header(BookingApiController.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body());
+    }
+
+    private static String body() {
+        return "{\"hotelId\":10,\"checkInDate\":\"2030-05-01\",\"checkOutDate\":\"2030-05-04\"}";
+    }
+
+    private static BookingRequestStatus requestStatus(String key, BookingRequestStatus.State state, Long bookingId, String message) {
+        return new BookingRequestStatus(key, 10L, CHECK_IN, CHECK_OUT, state, bookingId, message);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.travel.controller.api;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.service.BookingService;
+import com.example.travel.service.HotelSearchPage;
+import com.example.travel.service.HotelService;
+import com.example.travel.service.HotelSortOrder;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("HotelApiController Tests")
+class HotelApiControllerTest {
+
+    private HotelService hotelService;
+    private MockMvc mockMvc;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        User provider = new User();
+        provider.setId(1L);
+        provider.setUsername("provider");
+        provider.setRole(UserRole.PROVIDER);
+
+        hotel = new Hotel();
+        hotel.setId(10L);
+        hotel.setName("Goa Palms");
+        hotel.setLocation("North Goa");
+        hotel.setPricePerNight(new BigDecimal("100.00"));
+        hotel.setServiceProvider(provider);
+        hotel.setVersion(3L);
+
+        hotelService = mock(HotelService.class);
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                .filters(FieldSelection.ALL_FIELDS)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        mockMvc = MockMvcBuilders.standaloneSetup(new HotelApiController(hotelService, mock(BookingService.class)))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .setMessageConverters(json)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test Case 89: Should write only the selected hotel fields, revalidate by version and report misses as problem details")
+    void shouldServeLeanHotelJson() throws Exception {
+        // Given
+        when(hotelService.searchHotels(eq("Goa"), isNull(), eq(HotelSortOrder.PRICE), isNull(), anyInt()))
+                .thenReturn(new HotelSearchPage(List.of(hotel), "next-page"));
+        when(hotelService.findById(10L)).thenReturn(Optional.of(hotel));
+        when(hotelService.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then - the selection applies to each hotel but never to the page around it
+        mockMvc.perform(get("/api/v1/hotels").param("location", "Goa").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(10))
+                .andExpect(jsonPath("$.items[0].name").value("Goa Palms"))
+                .andExpect(jsonPath("$.items[0].pricePerNight").doesNotExist())
+                .andExpect(jsonPath("$.items[0].provider").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+        // And without a selection the whole hotel is written, provider flattened to its username
+        MvcResult full = mockMvc.perform(get("/api/v1/hotels/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pricePerNight").value(100.00))
+                .andExpect(jsonPath("$.provider").value("provider"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn();
+        String etag = full.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/hotels/10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        hotel.setVersion(4L);
+        mockMvc.perform(get("/api/v1/hotels/10").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/hotels/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Hotel not found with ID: 99"));
+
+        verify(hotelService, never()).searchAvailableHotels(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.travel.loadtest;
+
+import com.example.travel.TravelApplication;
+import com.example.travel.model.User;
+import com.example.travel.repository.UserRepository;
+import com.example.travel.service.BookingExportFormat;
+import com.example.travel.service.BookingExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a million bookings for one provider into a file-backed H2 database, then exports them from
+ * a separate JVM capped at {@value #CHILD_HEAP}. Holding the rows as a list would need several
+ * times that heap, so the export can only finish if it really streams.
+ */
+@Tag("loadtest")
+@DisplayName("Booking Export Heap Tests")
+class BookingExportHeapTest {
+
+    private static final int BOOKINGS = 1_000_000;
+    private static final int HOTELS = 100;
+    private static final int GUESTS = 1_000;
+    private static final int BATCH = 10_000;
+    private static final String CHILD_HEAP = "128m";
+
+    @Test
+    @DisplayName("Test Case 79: Should export a million bookings from a 128 MB heap")
+    void shouldExportMillionRowsWithSmallHeap(@TempDir Path directory) throws Exception {
+        // Given
+        String url = "jdbc:h2:file:" + directory.resolve("export").toAbsolutePath()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=TRUE";
+        try (ConfigurableApplicationContext context = start(url)) {
+            seed(context.getBean(JdbcTemplate.class));
+        }
+
+        // When
+        Path output = directory.resolve("child.log");
+        Process child = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + CHILD_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                ExportInSmallHeap.class.getName(), url)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        boolean finished = child.waitFor(10, TimeUnit.MINUTES);
+
+        // Then
+        String log = Files.readString(output);
+        assertThat(finished).as("export finished").isTrue();
+        assertThat(child.exitValue()).as(log).isZero();
+    }
+
+    // Command-line arguments, since builder properties are only defaults and application.properties would win
+    private static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(TravelApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--travel.search-index.enabled=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('exporter', 'exporter@example.com', 'x', 'PROVIDER')");
+        List<Object[]> guests = new ArrayList<>();
+        for (int i = 0; i < GUESTS; i++) {
+            guests.add(new Object[]{"guest" + i, "guest" + i + "@example.com"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, 'x', 'USER')", guests);
+
+        List<Object[]> hotels = new ArrayList<>();
+        for (int i = 0; i < HOTELS; i++) {
+            hotels.add(new Object[]{"Export Hotel " + i, "City " + i});
+        }
+        jdbc.batchUpdate("INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, 2500.00, 1)", hotels);
+
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<Object[]> bookings = new ArrayList<>(BATCH);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDate checkIn = start.plusDays(i / HOTELS % 3650);
+            bookings.add(new Object[]{Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(1 + i % 5)),
+                    2L + i % GUESTS, 1L + i % HOTELS});
+            if (bookings.size() == BATCH) {
+                jdbc.batchUpdate("INSERT INTO bookings (check_in_date, check_out_date, user_id, hotel_id) VALUES (?, ?, ?, ?)", bookings);
+                bookings.clear();
+            }
+        }
+    }
+
+    // Entry point of the small-heap JVM: boots against the seeded database and exports to a line counter
+    public static final class ExportInSmallHeap {
+
+        public static void main(String[] args) {
+            try (ConfigurableApplicationContext context = start(args[0])) {
+                User provider = context.getBean(UserRepository.class).findByUsername("exporter").orElseThrow();
+                LineCounter counter = new LineCounter();
+                long rows = context.getBean(BookingExportService.class)
+                        .exportProviderBookings(provider, BookingExportFormat.CSV, counter);
+                // A non-zero exit fails the parent test, which reports this message from the child's output
+                if (rows != BOOKINGS || counter.lines != BOOKINGS + 1) {
+                    throw new IllegalStateException("Expected " + BOOKINGS + " rows and " + (BOOKINGS + 1)
+                            + " lines, exported " + rows + " rows and " + counter.lines + " lines");
+                }
+            }
+        }
+    }
+
+    private static final class LineCounter extends OutputStream {
+
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.travel.loadtest;
+
+import com.example.travel.TravelApplication;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.service.HotelSearchIndex;
+import com.example.travel.service.HotelService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application and replays the same hotel pages with and without the validators from the
+ * previous response, comparing what each kind of request costs the server: search work, SQL
+ * statements, bytes sent and latency. Run with {@code mvn test -Ploadtest}.
+ */
+@Tag("loadtest")
+@DisplayName("Conditional GET Load Tests")
+class ConditionalGetLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConditionalGetLoadTest.class);
+
+    private static final int REQUESTS = 500;
+    private static final int HOTELS = 200;
+    private static final String SEARCH = "/hotels/search?location=Goa";
+    private static final Pattern CSRF_FIELD = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    @DisplayName("Test Case 88: Should answer unchanged hotel pages with a 304 before searching or rendering")
+    void shouldMeasureWorkSavedByNotModified() throws Exception {
+        // Command-line arguments, since builder properties are only defaults and application.properties would win
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TravelApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:conditional-get;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.travel.loadtest=INFO")) {
+            seed(context.getBean(JdbcTemplate.class));
+            context.getBean(HotelSearchIndex.class).rebuild();
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            String cookie = login(baseUrl, "traveler", "password");
+
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            // Given - a first visit that renders the page and hands out its validators
+            HttpResponse<String> first = get(baseUrl + SEARCH, cookie, null);
+            assertThat(first.statusCode()).isEqualTo(200);
+            assertThat(first.headers().firstValue("Cache-Control")).hasValueSatisfying(
+                    value -> assertThat(value).contains("private").contains("no-cache").doesNotContain("no-store"));
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+
+            // When - the same page again, rendered in full and then only revalidated
+            Replay rendered = replay(baseUrl + SEARCH, cookie, null, statistics, registry);
+            Replay revalidated = replay(baseUrl + SEARCH, cookie, etag, statistics, registry);
+
+            log.info("GET {} x {}", SEARCH, REQUESTS);
+            log.info("  200 rendered     {}", rendered.summary());
+            log.info("  304 revalidated  {}", revalidated.summary());
+
+            // Then - a 304 runs no search, sends no body and issues no SQL
+            assertThat(rendered.status()).isEqualTo(200);
+            assertThat(revalidated.status()).isEqualTo(304);
+            assertThat(rendered.searches()).isEqualTo(REQUESTS);
+            assertThat(revalidated.searches()).isZero();
+            assertThat(revalidated.statements()).isZero();
+            assertThat(revalidated.bytes()).isZero();
+            assertThat(revalidated.nanos()).isLessThan(rendered.nanos());
+
+            // And a change to any hotel retires the tags of every page showing the catalogue or that hotel
+            HotelRepository hotels = context.getBean(HotelRepository.class);
+            Hotel hotel = hotels.findAll().get(0);
+            String viewPath = "/hotels/view/" + hotel.getId();
+            HttpResponse<String> view = get(baseUrl + viewPath, cookie, null);
+            String viewEtag = view.headers().firstValue("ETag").orElseThrow();
+            assertThat(view.headers().firstValue("Last-Modified")).isPresent();
+            assertThat(get(baseUrl + viewPath, cookie, viewEtag).statusCode()).isEqualTo(304);
+
+            User provider = hotel.getServiceProvider();
+            context.getBean(HotelService.class).updateHotel(hotel.getId(), hotel.getName(), hotel.getLocation(),
+                    hotel.getPricePerNight().add(BigDecimal.ONE), provider);
+
+            HttpResponse<String> changedView = get(baseUrl + viewPath, cookie, viewEtag);
+            assertThat(changedView.statusCode()).isEqualTo(200);
+            assertThat(changedView.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(viewEtag);
+            assertThat(get(baseUrl + SEARCH, cookie, etag).statusCode()).isEqualTo(200);
+
+            // And another session never revalidates against a page rendered for this one
+            String otherCookie = login(baseUrl, "traveler", "password");
+            String currentEtag = get(baseUrl + SEARCH, cookie, null).headers().firstValue("ETag").orElseThrow();
+            assertThat(get(baseUrl + SEARCH, otherCookie, currentEtag).statusCode()).isEqualTo(200);
+        }
+    }
+
+    private Replay replay(String url, String cookie, String etag, Statistics statistics, MeterRegistry registry)
+            throws Exception {
+        long searchesBefore = searchCount(registry);
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long bytes = 0;
+        int status = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpResponse<String> response = get(url, cookie, etag);
+            status = response.statusCode();
+            bytes += response.body().getBytes(StandardCharsets.UTF_8).length;
+        }
+        long nanos = System.nanoTime() - started;
+        return new Replay(status, searchCount(registry) - searchesBefore,
+                statistics.getPrepareStatementCount() - statementsBefore, bytes, nanos);
+    }
+
+    private static long searchCount(MeterRegistry registry) {
+        return registry.find(TravelMetrics.HOTEL_SEARCH).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private HttpResponse<String> get(String url, String cookie, String etag) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET().header("Cookie", cookie);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The session id and CSRF token are both rotated on successful login
+    private String login(String baseUrl, String username, String password) throws Exception {
+        HttpResponse<String> loginPage = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        String cookie = sessionCookie(loginPage, null);
+        Matcher csrf = CSRF_FIELD.matcher(loginPage.body());
+        assertThat(csrf.find()).as("CSRF field in login page").isTrue();
+
+        String form = "username=" + encode(username) + "&password=" + encode(password) + "&_csrf=" + encode(csrf.group(1));
+        HttpResponse<String> loggedIn = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Cookie", cookie)
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(loggedIn.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/dashboard"));
+        return sessionCookie(loggedIn, cookie);
+    }
+
+    private static String sessionCookie(HttpResponse<?> response, String current) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .map(cookie -> cookie.split(";", 2)[0])
+                .findFirst()
+                .orElse(current);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        String password = new BCryptPasswordEncoder().encode("password");
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('etagprovider', 'etagprovider@example.com', ?, 'PROVIDER')", password);
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('traveler', 'traveler@example.com', ?, 'USER')", password);
+
+        Long providerId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'etagprovider'", Long.class);
+        List<Object[]> hotels = new ArrayList<>();
+        for (int i = 0; i < HOTELS; i++) {
+            hotels.add(new Object[]{"Etag Hotel " + i, (i % 2 == 0 ? "North Goa" : "Pune") + " Sector " + i,
+                    BigDecimal.valueOf(1_000 + i * 10L, 2), providerId});
+        }
+        jdbc.batchUpdate("INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)", hotels);
+    }
+
+    private record Replay(int status, long searches, long statements, long bytes, long nanos) {
+
+        String summary() {
+            return String.format("%,d searches, %,d SQL statements, %,d bytes, %.2f ms/request",
+                    searches, statements, bytes, nanos / 1e6 / REQUESTS);
+        }
+    }
+}
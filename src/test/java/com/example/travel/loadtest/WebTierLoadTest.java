@@ -0,0 +1,291 @@
+package com.example.travel.loadtest;
+
+import com.example.travel.TravelApplication;
+import com.example.travel.service.HotelSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application once on Tomcat's platform-thread pool and once with the {@code virtual}
+ * profile, then drives {@code /hotels/search} and {@code /bookings/create/{hotelId}} with
+ * {@value #CONCURRENT_USERS} concurrent simulated users. Run with {@code mvn test -Ploadtest}.
+ */
+@Tag("loadtest")
+@DisplayName("Web Tier Load Tests")
+class WebTierLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WebTierLoadTest.class);
+
+    private static final int CONCURRENT_USERS = 5_000;
+    private static final int SEARCHES_PER_USER = 5;
+    private static final int ACCOUNTS = 50;
+    private static final int HOTELS = 2_000;
+    private static final String[] CITIES = {"North Goa", "South Goa", "Mumbai", "Pune", "Manali", "Jaipur",
+            "Udaipur", "Kochi", "Shimla", "Rishikesh", "Varanasi", "Bengaluru", "Chennai", "Darjeeling"};
+    private static final Pattern CSRF_FIELD = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(strings = {"platform", "virtual"})
+    @DisplayName("Test Case 73: Should compare search and booking throughput under 5k concurrent users")
+    void compareExecutionModes(String mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TravelApplication.class);
+        if ("virtual".equals(mode)) {
+            builder.profiles("virtual");
+        }
+
+        // Command-line arguments, since builder properties are only defaults and application.properties would win
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.travel.loadtest=INFO",
+                // Same socket limits in both modes, so only the execution model differs
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=2000")) {
+            seed(context.getBean(JdbcTemplate.class));
+            context.getBean(HotelSearchIndex.class).rebuild();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadClient client = new LoadClient("http://localhost:" + port);
+            List<Session> sessions = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                sessions.add(client.login("loaduser" + i, "password"));
+            }
+
+            LatencyRecorder searches = new LatencyRecorder(CONCURRENT_USERS * SEARCHES_PER_USER);
+            LatencyRecorder bookings = new LatencyRecorder(CONCURRENT_USERS);
+            long elapsedNanos = drive(client, sessions, searches, bookings);
+
+            log.info("{} threads, {} users: {} req/s overall", mode, CONCURRENT_USERS,
+                    Math.round((searches.count() + bookings.count()) / (elapsedNanos / 1e9)));
+            log.info("  /hotels/search           {}", searches.summary());
+            log.info("  /bookings/create/{id}    {}", bookings.summary());
+
+            assertThat(searches.succeeded()).isPositive();
+            assertThat(bookings.succeeded()).isPositive();
+        }
+    }
+
+    private long drive(LoadClient client, List<Session> sessions, LatencyRecorder searches, LatencyRecorder bookings)
+            throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        CountDownLatch start = new CountDownLatch(1);
+        long started;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < CONCURRENT_USERS; u++) {
+                int user = u;
+                users.submit(() -> {
+                    start.await();
+                    Session session = sessions.get(user % ACCOUNTS);
+                    SplittableRandom random = new SplittableRandom(user);
+
+                    for (int i = 0; i < SEARCHES_PER_USER; i++) {
+                        String city = CITIES[random.nextInt(CITIES.length)];
+                        long t0 = System.nanoTime();
+                        int status = client.get("/hotels/search?location=" + encode(city), session.cookie());
+                        searches.record(System.nanoTime() - t0, status == 200);
+                    }
+
+                    long hotelId = 1 + random.nextInt(HOTELS);
+                    LocalDate checkIn = today.plusDays(1 + random.nextInt(300));
+                    Map<String, String> form = new LinkedHashMap<>();
+                    form.put("checkInDate", checkIn.toString());
+                    form.put("checkOutDate", checkIn.plusDays(1 + random.nextInt(4)).toString());
+                    form.put("_csrf", session.csrf());
+                    long t0 = System.nanoTime();
+                    int status = client.post("/bookings/create/" + hotelId, session.cookie(), form).statusCode();
+                    // 302 to the request status page once queued, 503 when the hotel's intake lane is full
+                    bookings.record(System.nanoTime() - t0, status == 302 || status == 200);
+                    return null;
+                });
+            }
+            started = System.nanoTime();
+            start.countDown();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        String password = new BCryptPasswordEncoder().encode("password");
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('loadprovider', 'loadprovider@example.com', ?, 'PROVIDER')", password);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            users.add(new Object[]{"loaduser" + i, "loaduser" + i + "@example.com", password});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, 'USER')", users);
+
+        Long providerId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'loadprovider'", Long.class);
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> hotels = new ArrayList<>();
+        for (int i = 0; i < HOTELS; i++) {
+            hotels.add(new Object[]{"Load Hotel " + i, CITIES[random.nextInt(CITIES.length)] + " Sector " + random.nextInt(50),
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2), providerId});
+        }
+        jdbc.batchUpdate("INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)", hotels);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Session(String cookie, String csrf) {
+    }
+
+    // Minimal form-login client: session cookie and CSRF token handled by hand, redirects not followed
+    private static final class LoadClient {
+
+        private final String baseUrl;
+        private final HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        LoadClient(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        Session login(String username, String password) throws IOException, InterruptedException {
+            HttpResponse<String> loginPage = send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET(), null);
+            String cookie = sessionCookie(loginPage, null);
+
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("username", username);
+            form.put("password", password);
+            form.put("_csrf", csrfToken(loginPage.body()));
+            // The session id and CSRF token are both rotated on successful login
+            HttpResponse<String> loggedIn = post("/login", cookie, form);
+            assertThat(loggedIn.headers().firstValue("Location")).hasValueSatisfying(
+                    location -> assertThat(location).endsWith("/dashboard"));
+            cookie = sessionCookie(loggedIn, cookie);
+
+            HttpResponse<String> bookingForm = send(HttpRequest.newBuilder(URI.create(baseUrl + "/bookings/create/1")).GET(), cookie);
+            return new Session(cookie, csrfToken(bookingForm.body()));
+        }
+
+        int get(String path, String cookie) {
+            try {
+                return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), cookie).statusCode();
+            } catch (IOException e) {
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+
+        HttpResponse<String> post(String path, String cookie, Map<String, String> form) throws IOException, InterruptedException {
+            String body = form.entrySet().stream()
+                    .map(field -> encode(field.getKey()) + "=" + encode(field.getValue()))
+                    .collect(Collectors.joining("&"));
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), cookie);
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request, String cookie) throws IOException, InterruptedException {
+            if (cookie != null) {
+                request.header("Cookie", cookie);
+            }
+            return http.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+        private static String sessionCookie(HttpResponse<?> response, String current) {
+            return response.headers().allValues("Set-Cookie").stream()
+                    .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                    .map(cookie -> cookie.split(";", 2)[0])
+                    .findFirst()
+                    .orElse(current);
+        }
+
+        private static String csrfToken(String html) {
+            Matcher matcher = CSRF_FIELD.matcher(html);
+            assertThat(matcher.find()).as("CSRF field in page").isTrue();
+            return matcher.group(1);
+        }
+    }
+
+    private static final class LatencyRecorder {
+
+        private final long[] samples;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        LatencyRecorder(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        void record(long nanos, boolean success) {
+            samples[next.getAndIncrement()] = nanos;
+            if (!success) {
+                failures.incrementAndGet();
+            }
+        }
+
+        int count() {
+            return next.get();
+        }
+
+        int succeeded() {
+            return count() - failures.get();
+        }
+
+        String summary() {
+            long[] sorted = Arrays.copyOf(samples, count());
+            Arrays.sort(sorted);
+            return String.format("%,d requests, %,d failed, p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    sorted.length, failures.get(), percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.travel.repository;
+
+import com.example.travel.model.Booking;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.projection.BookingSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("BookingRepository Tests")
+class BookingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int userSequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Test Case 51: Should load provider bookings with a constant number of statements")
+    void shouldLoadProviderBookingsWithConstantStatementCount() {
+        // Given
+        User smallProvider = seedProvider(3);
+        User largeProvider = seedProvider(30);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        long smallCount = countStatements(smallProvider);
+        long largeCount = countStatements(largeProvider);
+
+        // Then - one page query plus one count query, however many hotels the provider owns
+        assertThat(smallCount).isEqualTo(2);
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    @Test
+    @DisplayName("Test Case 52: Should page and sort provider bookings")
+    void shouldPageAndSortProviderBookings() {
+        // Given
+        User provider = seedProvider(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Page<Booking> page = bookingRepository.findByProviderId(provider.getId(),
+                PageRequest.of(1, 4, Sort.by(Sort.Direction.DESC, "checkInDate").and(Sort.by("id"))));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getContent()).isSortedAccordingTo((a, b) -> b.getCheckInDate().compareTo(a.getCheckInDate()));
+    }
+
+    @Test
+    @DisplayName("Test Case 72: Should answer conflict checks with exists and count queries only")
+    void shouldAnswerConflictChecksWithoutLoadingBookings() {
+        // Given - each hotel has stays on days 1-2 and 4-5 (plus the hotel index)
+        seedProvider(1);
+        entityManager.flush();
+        entityManager.clear();
+        Long hotelId = bookingRepository.findAll().get(0).getHotel().getId();
+        LocalDate today = LocalDate.now();
+        statistics.clear();
+
+        // When & Then - check-out day counts as occupied, the gap day 3 does not
+        assertThat(bookingRepository.existsConflictingBooking(hotelId, today.plusDays(2), today.plusDays(2))).isTrue();
+        assertThat(bookingRepository.existsConflictingBooking(hotelId, today.plusDays(3), today.plusDays(3))).isFalse();
+        assertThat(bookingRepository.countConflictingBookings(hotelId, today.plusDays(1), today.plusDays(4))).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test Case 85: Should page a long booking history as projections without managing entities")
+    void shouldPageBookingHistoryAsProjections() {
+        // Given - a traveler with 150 past and 150 upcoming stays across two hotels
+        LocalDate today = LocalDate.now();
+        User provider = persistUser(UserRole.PROVIDER);
+        User guest = persistUser(UserRole.USER);
+        Hotel beach = persistHotel("Beach House", provider);
+        Hotel hills = persistHotel("Hill Lodge", provider);
+        for (int i = 1; i <= 150; i++) {
+            persistBooking(i % 2 == 0 ? beach : hills, guest, today.minusDays(i * 3L), 2);
+            persistBooking(i % 2 == 0 ? beach : hills, guest, today.plusDays(i * 3L - 3), 2);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        Page<BookingSummary> upcoming = bookingRepository.findUpcomingSummariesByUserId(guest.getId(), today, PageRequest.of(0, 10));
+        Page<BookingSummary> past = bookingRepository.findPastSummariesByUserId(guest.getId(), today, PageRequest.of(2, 10));
+
+        // Then - one page and one count statement each, and nothing is left in the persistence context
+        assertThat(upcoming.getTotalElements()).isEqualTo(150);
+        assertThat(upcoming.getContent()).hasSize(10);
+        assertThat(upcoming.getContent().get(0).checkInDate()).isEqualTo(today);
+        assertThat(upcoming.getContent().get(0).hotelName()).isEqualTo("Hill Lodge");
+        assertThat(upcoming.getContent()).isSortedAccordingTo((a, b) -> a.checkInDate().compareTo(b.checkInDate()));
+        assertThat(past.getTotalElements()).isEqualTo(150);
+        assertThat(past.getContent()).hasSize(10);
+        assertThat(past.getContent().get(0).checkInDate()).isEqualTo(today.minusDays(63));
+        assertThat(past.getContent()).isSortedAccordingTo((a, b) -> b.checkInDate().compareTo(a.checkInDate()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private Hotel persistHotel(String name, User provider) {
+        Hotel hotel = new Hotel();
+        hotel.setName(name);
+        hotel.setLocation("Goa");
+        hotel.setPricePerNight(new BigDecimal("100.00"));
+        hotel.setServiceProvider(provider);
+        return entityManager.persist(hotel);
+    }
+
+    private void persistBooking(Hotel hotel, User guest, LocalDate checkIn, int nights) {
+        Booking booking = new Booking();
+        booking.setHotel(hotel);
+        booking.setUser(guest);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkIn.plusDays(nights));
+        entityManager.persist(booking);
+    }
+
+    private long countStatements(User provider) {
+        statistics.clear();
+        Page<Booking> page = bookingRepository.findByProviderId(provider.getId(), PageRequest.of(0, 4));
+        // Touch every association the hotel-bookings page renders
+        page.forEach(booking -> {
+            booking.getUser().getUsername();
+            booking.getHotel().getServiceProvider().getUsername();
+        });
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
+    private User seedProvider(int hotelCount) {
+        User provider = persistUser(UserRole.PROVIDER);
+        User guest = persistUser(UserRole.USER);
+
+        for (int i = 0; i < hotelCount; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Hotel " + i);
+            hotel.setLocation("City " + i);
+            hotel.setPricePerNight(new BigDecimal("100.00"));
+            hotel.setServiceProvider(provider);
+            entityManager.persist(hotel);
+
+            for (int night = 0; night < 2; night++) {
+                Booking booking = new Booking();
+                booking.setHotel(hotel);
+                booking.setUser(guest);
+                booking.setCheckInDate(LocalDate.now().plusDays(1 + night * 3L + i));
+                booking.setCheckOutDate(LocalDate.now().plusDays(2 + night * 3L + i));
+                entityManager.persist(booking);
+            }
+        }
+        return provider;
+    }
+
+    private User persistUser(UserRole role) {
+        int sequence = ++userSequence;
+        User user = new User();
+        user.setUsername("user" + sequence);
+        user.setEmail("user" + sequence + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.travel.repository;
+
+import com.example.travel.model.Booking;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("HotelRepository Tests")
+class HotelRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private User provider;
+    private User guest;
+
+    @BeforeEach
+    void setUp() {
+        provider = persistUser("avail-provider", UserRole.PROVIDER);
+        guest = persistUser("avail-guest", UserRole.USER);
+    }
+
+    @Test
+    @DisplayName("Test Case 82: Should page only hotels with no booking overlapping the stay")
+    void shouldPageOnlyAvailableHotels() {
+        // Given - Palms is booked days 10-12, Breeze days 13-15, Villa never; Hills is elsewhere
+        Hotel palms = persistHotel("Goa Palms", "North Goa", "100.00");
+        Hotel breeze = persistHotel("Sea Breeze", "South Goa", "80.00");
+        Hotel villa = persistHotel("Beach Villa", "Goa", "120.00");
+        Hotel hills = persistHotel("Mountain Hills", "Manali", "50.00");
+        persistBooking(palms, 10, 12);
+        persistBooking(breeze, 13, 15);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then - check-out day 12 and check-in day 13 are both occupied
+        assertThat(ids(hotelRepository.findFirstAvailablePageByPrice("goa", null,
+                today.plusDays(12), today.plusDays(13), PageRequest.of(0, 10))))
+                .containsExactly(villa.getId());
+
+        // Free window: all three Goa hotels, cheapest first, continued from the price cursor
+        assertThat(ids(hotelRepository.findFirstAvailablePageByPrice("goa", null,
+                today.plusDays(16), today.plusDays(20), PageRequest.of(0, 2))))
+                .containsExactly(breeze.getId(), palms.getId());
+        assertThat(ids(hotelRepository.findAvailablePageByPriceAfter("goa", new BigDecimal("150"),
+                today.plusDays(16), today.plusDays(20), new BigDecimal("100.00"), palms.getId(), PageRequest.of(0, 2))))
+                .containsExactly(villa.getId());
+        assertThat(ids(hotelRepository.findFirstAvailablePageByName(null, new BigDecimal("110"),
+                today.plusDays(11), today.plusDays(11), PageRequest.of(0, 10))))
+                .containsExactly(hills.getId(), breeze.getId());
+        assertThat(ids(hotelRepository.findAvailablePageByNameAfter(null, null,
+                today.plusDays(1), today.plusDays(2), "Goa Palms", palms.getId(), PageRequest.of(0, 10))))
+                .containsExactly(hills.getId(), breeze.getId());
+    }
+
+    private static List<Long> ids(List<Hotel> hotels) {
+        return hotels.stream().map(Hotel::getId).toList();
+    }
+
+    private Hotel persistHotel(String name, String location, String price) {
+        Hotel hotel = new Hotel();
+        hotel.setName(name);
+        hotel.setLocation(location);
+        hotel.setPricePerNight(new BigDecimal(price));
+        hotel.setServiceProvider(provider);
+        return entityManager.persist(hotel);
+    }
+
+    private void persistBooking(Hotel hotel, int checkInDay, int checkOutDay) {
+        Booking booking = new Booking();
+        booking.setHotel(hotel);
+        booking.setUser(guest);
+        booking.setCheckInDate(today.plusDays(checkInDay));
+        booking.setCheckOutDate(today.plusDays(checkOutDay));
+        entityManager.persist(booking);
+    }
+
+    private User persistUser(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
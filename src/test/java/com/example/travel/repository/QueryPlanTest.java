@@ -0,0 +1,176 @@
+package com.example.travel.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each hot repository query, captures the SQL Hibernate generates for it and EXPLAINs that
+ * statement against the Flyway-migrated schema, failing if the plan falls back to a full table
+ * scan. H2 plans a parameterized EXPLAIN without bound values, so each plan holds for any arguments.
+ * The location-only finders behind the search index are left out: a leading-wildcard LIKE always scans.
+ */
+@DataJpaTest(properties = {
+        // ANALYZE commits the seed data, so it goes into a database of its own rather than the shared testdb
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.travel.repository.QueryPlanTest$SqlCapture",
+        // A cached query result would skip the statement under test
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 10);
+    private static final LocalDate TO = LocalDate.of(2030, 1, 20);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        SqlCapture.STATEMENTS.clear();
+        // ANALYZE commits the test transaction, so the data is seeded once and kept for every test in the class
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'plan-provider'", Integer.class) > 0) {
+            return;
+        }
+        // Enough other users that the optimizer has no reason to drive the provider join from a users scan
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(new Object[]{"plan-user-" + i, "plan-user-" + i + "@example.com"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, 'x', 'USER')", users);
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('plan-provider', 'plan-provider@example.com', 'x', 'PROVIDER')");
+        jdbc.update("INSERT INTO users (username, email, password, role) VALUES ('plan-guest', 'plan-guest@example.com', 'x', 'USER')");
+        Long providerId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'plan-provider'", Long.class);
+        Long guestId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'plan-guest'", Long.class);
+
+        List<Object[]> hotels = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            hotels.add(new Object[]{"Plan Hotel " + i, "City " + (i % 20), BigDecimal.valueOf(10 + i), providerId});
+        }
+        jdbc.batchUpdate("INSERT INTO hotels (name, location, price_per_night, service_provider_id) VALUES (?, ?, ?, ?)", hotels);
+
+        List<Long> hotelIds = jdbc.queryForList("SELECT id FROM hotels WHERE service_provider_id = ?", Long.class, providerId);
+        List<Object[]> bookings = new ArrayList<>();
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        for (Long hotelId : hotelIds) {
+            for (int stay = 0; stay < 10; stay++) {
+                LocalDate checkIn = start.plusDays(stay * 5L);
+                bookings.add(new Object[]{Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(2)), guestId, hotelId});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO bookings (check_in_date, check_out_date, user_id, hotel_id) VALUES (?, ?, ?, ?)", bookings);
+        jdbc.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> hotQueries() {
+        BigDecimal price = new BigDecimal("200.00");
+        PageRequest page = PageRequest.of(0, 25);
+        return Stream.of(
+                query("conflict check", (hotels, bookings) -> bookings.existsConflictingBooking(5L, FROM, TO)),
+                query("conflict count", (hotels, bookings) -> bookings.countConflictingBookings(5L, FROM, TO)),
+                query("availability calendar", (hotels, bookings) -> bookings.findStaysBetween(5L, FROM, TO)),
+                query("upcoming bookings page", (hotels, bookings) -> bookings.findUpcomingSummariesByUserId(2L, FROM, page)),
+                query("past bookings page", (hotels, bookings) -> bookings.findPastSummariesByUserId(2L, FROM, page)),
+                query("provider bookings page", (hotels, bookings) -> bookings.findByProviderId(1L, page)),
+                query("price filter", (hotels, bookings) -> hotels.findByPricePerNightLessThanEqual(price)),
+                query("first price page", (hotels, bookings) -> hotels.findFirstPageByPrice("city", price, page)),
+                query("price keyset page", (hotels, bookings) -> hotels.findPageByPriceAfter(null, null, price, 10L, page)),
+                query("first name page", (hotels, bookings) -> hotels.findFirstPageByName(null, price, page)),
+                query("name keyset page", (hotels, bookings) -> hotels.findPageByNameAfter("city", null, "Plan Hotel 1", 10L, page)),
+                query("available price page", (hotels, bookings) -> hotels.findFirstAvailablePageByPrice(null, price, FROM, TO, page)),
+                query("available name keyset page", (hotels, bookings) ->
+                        hotels.findAvailablePageByNameAfter("city", null, FROM, TO, "Plan Hotel 1", 10L, page)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Test Case 69: Should serve hot queries from an index, never a full table scan")
+    @MethodSource("hotQueries")
+    void shouldNotFullScanForHotQuery(String query, RepositoryCall call) {
+        // When
+        call.run(hotelRepository, bookingRepository);
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+
+        // Then - every statement the call issued, count queries included
+        assertThat(statements).as(query + " issued no SQL").isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as(query + ": " + plan).doesNotContain("tablescan");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Case 70: Should create the composite booking and hotel indexes through the migrations")
+    void shouldCreateCompositeIndexes() {
+        List<String> indexes = jdbc.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) IN ('bookings', 'hotels')",
+                String.class);
+
+        assertThat(indexes).contains("idx_bookings_hotel_dates", "idx_bookings_user_check_in",
+                "idx_hotels_price_id", "idx_hotels_name_id");
+    }
+
+    // Prepared so the generated statement keeps its parameter markers
+    private String explain(String sql) {
+        List<String> plan = jdbc.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                (resultSet, row) -> resultSet.getString(1));
+        return String.join("\n", plan).toLowerCase(Locale.ROOT);
+    }
+
+    private static Arguments query(String name, RepositoryCall call) {
+        return Arguments.of(name, call);
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(HotelRepository hotels, BookingRepository bookings);
+    }
+
+    /**
+     * Records every statement Hibernate prepares. Registered by class name, so Hibernate creates it.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.travel.repository;
+
+import com.example.travel.config.SecondLevelCacheConfig;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every step commits on its own, since the second-level cache only takes and drops entries at transaction boundaries
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User provider;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        provider = new User();
+        provider.setUsername("l2-provider");
+        provider.setEmail("l2-provider@example.com");
+        provider.setPassword("password");
+        provider.setRole(UserRole.PROVIDER);
+        provider = inTransaction(() -> userRepository.save(provider));
+
+        hotel = new Hotel();
+        hotel.setName("Cache Palms");
+        hotel.setLocation("Cache Coast");
+        hotel.setPricePerNight(new BigDecimal("100.00"));
+        hotel.setServiceProvider(provider);
+        hotel = inTransaction(() -> hotelRepository.save(hotel));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            hotelRepository.findById(hotel.getId()).ifPresent(hotelRepository::delete);
+            userRepository.deleteById(provider.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Test Case 86: Should serve repeated hotel lookups from the cache until a write invalidates them")
+    void shouldServeCachedLookupsUntilInvalidated() {
+        // Given - the first lookup goes to the database and fills the query and entity regions
+        Hotel first = inTransaction(() -> hotelRepository.findByIdWithServiceProvider(hotel.getId()).orElseThrow());
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        assertThat(statementsAfterFirst).isPositive();
+
+        // When - the same lookups again, each in a fresh session
+        Hotel cached = inTransaction(() -> hotelRepository.findByIdWithServiceProvider(hotel.getId()).orElseThrow());
+        List<Hotel> located = inTransaction(() -> hotelRepository.findByLocationContainingIgnoreCase("cache coast"));
+        List<Hotel> locatedAgain = inTransaction(() -> hotelRepository.findByLocationContainingIgnoreCase("cache coast"));
+        Hotel byId = inTransaction(() -> hotelRepository.findById(hotel.getId()).orElseThrow());
+
+        // Then - only the first location search reached the database, and the provider came back with the hotel
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst + 1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+        assertThat(Hibernate.isInitialized(cached.getServiceProvider())).isTrue();
+        assertThat(cached.getServiceProvider().getUsername()).isEqualTo("l2-provider");
+        assertThat(located).extracting(Hotel::getId).containsExactly(hotel.getId());
+        assertThat(locatedAgain).extracting(Hotel::getId).containsExactly(hotel.getId());
+        assertThat(byId.getName()).isEqualTo(first.getName());
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.HOTEL_REGION).getHitCount()).isPositive();
+
+        // When - a price change commits
+        inTransaction(() -> {
+            Hotel editable = hotelRepository.findById(hotel.getId()).orElseThrow();
+            editable.setPricePerNight(new BigDecimal("150.00"));
+            return hotelRepository.save(editable);
+        });
+        long hitsBeforeUpdate = statistics.getQueryCacheHitCount();
+        Hotel updated = inTransaction(() -> hotelRepository.findByIdWithServiceProvider(hotel.getId()).orElseThrow());
+
+        // Then - the cached result was discarded and the new price is read
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsBeforeUpdate);
+        assertThat(updated.getPricePerNight()).isEqualByComparingTo("150.00");
+
+        // When - the provider is renamed, which touches the users table the lookup joins
+        inTransaction(() -> {
+            User editable = userRepository.findById(provider.getId()).orElseThrow();
+            editable.setBusinessName("Cache Stays");
+            return userRepository.save(editable);
+        });
+        Hotel renamed = inTransaction(() -> hotelRepository.findByIdWithServiceProvider(hotel.getId()).orElseThrow());
+
+        // Then
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsBeforeUpdate);
+        assertThat(renamed.getServiceProvider().getBusinessName()).isEqualTo("Cache Stays");
+
+        // And the published hit ratio matches Hibernate's own counts for the query region
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        double expectedRatio = (double) statistics.getQueryCacheHitCount()
+                / (statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount());
+        assertThat(registry.get("travel.cache.l2.hit.ratio")
+                .tag("cache", SecondLevelCacheConfig.QUERY_RESULTS_REGION).gauge().value())
+                .isEqualTo(expectedRatio);
+    }
+
+    @Test
+    @DisplayName("Test Case 106: Should update a hotel whose cached copy is older than the row")
+    void shouldUpdateHotelBehindStaleCachedVersion() {
+        // Given - the hotel is cached, then another instance updates the row behind this cache's back
+        Long cachedVersion = inTransaction(() -> hotelRepository.findById(hotel.getId()).orElseThrow()).getVersion();
+        new JdbcTemplate(dataSource).update(
+                "UPDATE hotels SET price_per_night = 120.00, version = version + 1 WHERE id = ?", hotel.getId());
+        assertThat(inTransaction(() -> hotelRepository.findById(hotel.getId()).orElseThrow()).getVersion())
+                .isEqualTo(cachedVersion);
+
+        // When - the edit starts from a read past the cache
+        Hotel saved = inTransaction(() -> {
+            Hotel editable = hotelRepository.findByIdBypassingCache(hotel.getId()).orElseThrow();
+            editable.setName("Cache Palms Renamed");
+            return hotelRepository.save(editable);
+        });
+
+        // Then - the update committed on top of the other instance's change
+        Hotel reloaded = inTransaction(() -> hotelRepository.findById(hotel.getId()).orElseThrow());
+        assertThat(reloaded.getName()).isEqualTo("Cache Palms Renamed");
+        assertThat(reloaded.getPricePerNight()).isEqualByComparingTo("120.00");
+        assertThat(reloaded.getVersion()).isEqualTo(saved.getVersion()).isEqualTo(cachedVersion + 2);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
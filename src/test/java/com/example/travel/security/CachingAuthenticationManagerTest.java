@@ -0,0 +1,79 @@
+package com.example.travel.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CachingAuthenticationManager Tests")
+class CachingAuthenticationManagerTest {
+
+    private AuthenticationManager delegate;
+    private CachingAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationManager.class);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"secret".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    request.getName(), null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        });
+        manager = new CachingAuthenticationManager(delegate, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @DisplayName("Test Case 95: Should verify each API credential once and never cache a failure")
+    void shouldVerifyCredentialsOnce() {
+        // When - the same Basic credentials arrive three times
+        Authentication first = manager.authenticate(basic("guest", "secret"));
+        Authentication second = manager.authenticate(basic("guest", "secret"));
+        manager.authenticate(basic("guest", "secret"));
+
+        // Then - only the first call reached the password check
+        assertThat(second).isSameAs(first);
+        assertThat(second.isAuthenticated()).isTrue();
+        verify(delegate, times(1)).authenticate(any());
+
+        // A wrong password is checked every time, and a cached success does not vouch for it
+        assertThatThrownBy(() -> manager.authenticate(basic("guest", "guess"))).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> manager.authenticate(basic("guest", "guess"))).isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(3)).authenticate(any());
+
+        // The key covers the username too, so another account with the same password is verified on its own
+        manager.authenticate(basic("other", "secret"));
+        verify(delegate, times(4)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Test Case 105: Should not let a username containing NUL share a cache entry with another pair")
+    void shouldKeepKeysApartForUsernamesWithSeparators() {
+        // Given - a verified pair whose username and password joined with NUL would read "guest\0x\0secret"
+        manager.authenticate(basic("guest\0x", "secret"));
+
+        // When & Then - the pair that joins to the same text still has its own, wrong, password checked
+        assertThatThrownBy(() -> manager.authenticate(basic("guest", "x\0secret"))).isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
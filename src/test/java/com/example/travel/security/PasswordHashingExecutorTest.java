@@ -0,0 +1,124 @@
+package com.example.travel.security;
+
+import com.example.travel.exception.PasswordHashingRejectedException;
+import com.example.travel.metrics.TravelMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, 2000, new TravelMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Test Case 74: Should shed password work once the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given - the only thread is busy and the single queue slot is taken
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute("verify", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("verify", () -> true));
+        Thread.sleep(50);
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute("hash", () -> "never runs"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("queue is full");
+        assertThat(meterRegistry.get(TravelMetrics.AUTH_PASSWORD_REJECTED)
+                .tags("operation", "hash", "reason", "queue_full").counter().count()).isEqualTo(1);
+
+        // Work that was admitted still completes once the pool frees up
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test Case 75: Should hash and verify off the caller thread with timed queue wait")
+    void shouldOffloadBcryptToPool() {
+        // Given
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+        String caller = Thread.currentThread().getName();
+
+        // When
+        String hash = encoder.encode("Secret@123");
+        String worker = executor.execute("verify", () -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(encoder.matches("Secret@123", hash)).isTrue();
+        assertThat(encoder.matches("Wrong@123", hash)).isFalse();
+        assertThat(worker).startsWith("password-hash-").isNotEqualTo(caller);
+        assertThat(meterRegistry.get(TravelMetrics.AUTH_PASSWORD_WAIT).tag("operation", "verify").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test Case 93: Should shed hashes that wait too long to start but let started ones finish")
+    void shouldLimitQueueWaitOnly() throws Exception {
+        // Given - a 100 ms wait limit and a hash that keeps the only thread busy for longer
+        PasswordHashingExecutor shortWait = new PasswordHashingExecutor(1, 1, 100, new TravelMetrics(meterRegistry));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean shedRan = new AtomicBoolean();
+        try {
+            CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> shortWait.execute("verify", () -> {
+                running.countDown();
+                awaitQuietly(release);
+                return true;
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When - a second hash queues behind it past the limit
+            assertThatThrownBy(() -> shortWait.execute("verify", () -> shedRan.getAndSet(true)))
+                    .isInstanceOf(PasswordHashingRejectedException.class)
+                    .hasMessageContaining("in the queue");
+            release.countDown();
+
+            // Then - the started hash outlived the limit and still returned; the shed one never ran
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(shortWait.execute("verify", () -> true)).isTrue();
+            assertThat(shedRan).isFalse();
+            assertThat(meterRegistry.get(TravelMetrics.AUTH_PASSWORD_REJECTED)
+                    .tags("operation", "verify", "reason", "timeout").counter().count()).isEqualTo(1);
+        } finally {
+            shortWait.close();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
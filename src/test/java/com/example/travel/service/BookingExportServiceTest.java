@@ -0,0 +1,82 @@
+package com.example.travel.service;
+
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BookingExportService Tests")
+class BookingExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookingRepository bookingRepository;
+    private BookingExportService exportService;
+    private User provider;
+    private AtomicBoolean streamClosed;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        exportService = new BookingExportService(bookingRepository, mock(PlatformTransactionManager.class), objectMapper);
+
+        provider = new User();
+        provider.setId(3L);
+        provider.setUsername("provider");
+        provider.setRole(UserRole.PROVIDER);
+
+        LocalDate checkIn = LocalDate.of(2025, 3, 10);
+        streamClosed = new AtomicBoolean();
+        when(bookingRepository.streamExportRowsByProviderId(3L)).thenAnswer(invocation -> Stream.of(
+                new BookingExportRow(1L, 10L, "Sea Breeze", "North Goa", "alice", "alice@example.com",
+                        checkIn, checkIn.plusDays(3), new BigDecimal("2500.00")),
+                new BookingExportRow(2L, 11L, "Palms, \"Deluxe\"", "South Goa", "=HYPERLINK(\"x\")", "bob@example.com",
+                        checkIn, checkIn.plusDays(1), new BigDecimal("999.50")))
+                .onClose(() -> streamClosed.set(true)));
+    }
+
+    @Test
+    @DisplayName("Test Case 78: Should stream bookings as escaped CSV and as NDJSON")
+    void shouldExportCsvAndNdjson() throws Exception {
+        // When
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long csvRows = exportService.exportProviderBookings(provider, BookingExportFormat.CSV, csv);
+
+        // Then - quoted where needed, formulas defused, revenue = nights x price
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(csvRows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("bookingId,hotelId,hotelName");
+        assertThat(lines[1]).isEqualTo("1,10,Sea Breeze,North Goa,alice,alice@example.com,2025-03-10,2025-03-13,3,2500.00,7500.00");
+        assertThat(lines[2]).isEqualTo("2,11,\"Palms, \"\"Deluxe\"\"\",South Goa,\"'=HYPERLINK(\"\"x\"\")\",bob@example.com,"
+                + "2025-03-10,2025-03-11,1,999.50,999.50");
+        assertThat(streamClosed).isTrue();
+
+        // When
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long jsonRows = exportService.exportProviderBookings(provider, BookingExportFormat.NDJSON, ndjson);
+
+        // Then - one standalone JSON object per line
+        String[] objects = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(jsonRows).isEqualTo(2);
+        assertThat(objects).hasSize(2);
+        JsonNode second = objectMapper.readTree(objects[1]);
+        assertThat(second.get("hotelName").asText()).isEqualTo("Palms, \"Deluxe\"");
+        assertThat(second.get("revenue").decimalValue()).isEqualByComparingTo("999.50");
+    }
+}
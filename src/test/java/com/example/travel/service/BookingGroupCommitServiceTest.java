@@ -0,0 +1,135 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.BookingConflictException;
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingStay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingGroupCommitService Tests")
+class BookingGroupCommitServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HotelService hotelService;
+
+    @Mock
+    private HotelAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ProviderDashboardStats dashboardStats;
+
+    @Spy
+    private HotelLockStripes hotelLocks = new HotelLockStripes(16);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TravelMetrics metrics = new TravelMetrics(meterRegistry);
+
+    @InjectMocks
+    private BookingGroupCommitService groupCommitService;
+
+    @Test
+    @DisplayName("Test Case 84: Should settle a burst first-come in memory and insert every winner in one batch")
+    void shouldSettleBurstFirstComeWithOneBatch() {
+        // Given - the hotel already has a stay on days 10-12
+        LocalDate today = LocalDate.now();
+        User provider = user(1L, UserRole.PROVIDER);
+        User guest = user(2L, UserRole.USER);
+        Hotel hotel = new Hotel();
+        hotel.setId(7L);
+        hotel.setName("Goa Palms");
+        hotel.setPricePerNight(new BigDecimal("100.00"));
+        hotel.setServiceProvider(provider);
+        when(hotelService.findById(7L)).thenReturn(Optional.of(hotel));
+        when(hotelService.lockForBooking(7L)).thenReturn(hotel);
+        when(bookingRepository.findStaysBetween(7L, today.plusDays(1), today.plusDays(20)))
+                .thenReturn(List.of(new BookingStay(50L, today.plusDays(10), today.plusDays(12))));
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keys = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("GENERATED_KEY", 101L + i));
+                    }
+                    int[] counts = new int[setter.getBatchSize()];
+                    Arrays.fill(counts, 1);
+                    return counts;
+                });
+
+        // When - two winners, a loser to an earlier attempt, a loser to the stored stay, an own-hotel attempt and bad dates
+        List<BookingAttemptResult> results = groupCommitService.bookHotel(7L, List.of(
+                new BookingAttempt(today.plusDays(1), today.plusDays(3), guest),
+                new BookingAttempt(today.plusDays(3), today.plusDays(5), guest),
+                new BookingAttempt(today.plusDays(11), today.plusDays(13), guest),
+                new BookingAttempt(today.plusDays(15), today.plusDays(20), provider),
+                new BookingAttempt(today.plusDays(15), today.plusDays(20), guest),
+                new BookingAttempt(today.plusDays(4), today.plusDays(2), guest)));
+
+        // Then - winners carry the generated ids in attempt order, losers the exception bookHotel would throw
+        assertThat(results).hasSize(6);
+        assertThat(results.get(0).booking().getId()).isEqualTo(101L);
+        assertThat(results.get(1).failure()).isInstanceOf(BookingConflictException.class);
+        assertThat(results.get(2).failure()).isInstanceOf(BookingConflictException.class);
+        assertThat(results.get(3).failure()).isInstanceOf(InvalidBookingException.class)
+                .hasMessage("You cannot book your own hotel.");
+        assertThat(results.get(4).booking().getId()).isEqualTo(102L);
+        assertThat(results.get(4).booking().getHotel()).isEqualTo(hotel);
+        assertThat(results.get(5).failure()).hasMessage("Check-out date must be after check-in date");
+
+        verify(hotelService).lockForBooking(7L);
+        verify(bookingRepository).findStaysBetween(any(), any(), any());
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verify(availabilityIndex).recordBooking(7L, 101L, today.plusDays(1), today.plusDays(3));
+        verify(availabilityIndex).recordBooking(7L, 102L, today.plusDays(15), today.plusDays(20));
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "created").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "conflict").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "rejected").count()).isEqualTo(2);
+    }
+
+    private static User user(Long id, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setRole(role);
+        return user;
+    }
+}
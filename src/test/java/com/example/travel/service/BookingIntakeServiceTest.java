@@ -0,0 +1,126 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.BookingConflictException;
+import com.example.travel.exception.BookingQueueFullException;
+import com.example.travel.exception.BookingRequestKeyReusedException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Booking;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BookingIntakeService Tests")
+class BookingIntakeServiceTest {
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(10);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingService bookingService;
+    private BookingIntakeService intake;
+    private User guest;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = mock(BookingService.class);
+        // Two lanes with one queue slot each; hotels 1 and 3 share a lane
+        intake = new BookingIntakeService(bookingService, mock(BookingGroupCommitService.class),
+                new TravelMetrics(meterRegistry), 2, 1, 60, 1000, false, 64);
+        guest = user(2L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        intake.close();
+    }
+
+    @Test
+    @DisplayName("Test Case 83: Should run each request key once, in per-hotel order, and shed when the lane is full")
+    void shouldRunEachKeyOnceInHotelOrder() throws Exception {
+        // Given - the first booking blocks its lane until released
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<LocalDate> processed = new CopyOnWriteArrayList<>();
+        when(bookingService.bookHotel(any(), any(), any(), eq(guest))).thenAnswer(invocation -> {
+            LocalDate requestedCheckIn = invocation.getArgument(1);
+            processed.add(requestedCheckIn);
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (requestedCheckIn.equals(checkIn.plusDays(1))) {
+                throw new BookingConflictException("These dates are already booked.");
+            }
+            Booking booking = new Booking();
+            booking.setId(100L + processed.size());
+            return booking;
+        });
+
+        // When - a double submit, a second request for the same hotel, then one too many
+        BookingRequestStatus first = intake.submit("key-a", 1L, checkIn, checkIn.plusDays(2), guest);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        BookingRequestStatus duplicate = intake.submit("key-a", 1L, checkIn, checkIn.plusDays(2), guest);
+        intake.submit("key-b", 3L, checkIn.plusDays(1), checkIn.plusDays(2), guest);
+
+        assertThatThrownBy(() -> intake.submit("key-c", 1L, checkIn.plusDays(5), checkIn.plusDays(6), guest))
+                .isInstanceOf(BookingQueueFullException.class);
+        assertThat(intake.find("key-c", guest)).isEmpty();
+        assertThat(duplicate).isEqualTo(first);
+        assertThat(first.state()).isEqualTo(BookingRequestStatus.State.QUEUED);
+
+        release.countDown();
+        BookingRequestStatus confirmed = awaitDone("key-a", guest);
+        BookingRequestStatus conflict = awaitDone("key-b", guest);
+
+        // Then - one attempt per key, in arrival order, and replays return the stored outcome
+        assertThat(confirmed.state()).isEqualTo(BookingRequestStatus.State.CONFIRMED);
+        assertThat(confirmed.bookingId()).isEqualTo(101L);
+        assertThat(conflict.state()).isEqualTo(BookingRequestStatus.State.CONFLICT);
+        assertThat(processed).containsExactly(checkIn, checkIn.plusDays(1));
+        assertThat(intake.submit("key-a", 1L, checkIn, checkIn.plusDays(2), guest)).isEqualTo(confirmed);
+        verify(bookingService, times(2)).bookHotel(any(), any(), any(), any());
+
+        // A key reused for other dates is refused rather than answered with the first request's outcome
+        assertThatThrownBy(() -> intake.submit("key-a", 1L, checkIn.plusDays(7), checkIn.plusDays(9), guest))
+                .isInstanceOf(BookingRequestKeyReusedException.class);
+        assertThat(intake.find("key-a", guest)).contains(confirmed);
+
+        // Keys are scoped to the user who sent them
+        assertThat(intake.find("key-a", user(3L))).isEmpty();
+        assertThat(meterRegistry.counter(TravelMetrics.BOOKING_INTAKE, "outcome", "duplicate").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter(TravelMetrics.BOOKING_INTAKE, "outcome", "queue_full").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(TravelMetrics.BOOKING_INTAKE, "outcome", "key_reused").count()).isEqualTo(1);
+    }
+
+    private BookingRequestStatus awaitDone(String key, User user) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            BookingRequestStatus status = intake.find(key, user).orElseThrow();
+            if (status.isDone()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Booking request " + key + " was not processed in time");
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("guest" + id);
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.InvalidBookingException;
+import com.example.travel.metrics.TravelMetrics;
+import com.example.travel.model.Booking;
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Books one hotel from several threads against the real database, with lock stripes that exclude
+ * nothing, so the PESSIMISTIC_WRITE row lock taken in each booking transaction is the only guard,
+ * as it is between application instances. Each attempt commits on its own; nothing is rolled back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Booking Row Lock Tests")
+class BookingRowLockTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 60;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User provider;
+    private User guest;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        provider = userRepository.save(user("rowlock-provider", UserRole.PROVIDER));
+        guest = userRepository.save(user("rowlock-guest", UserRole.USER));
+
+        Hotel newHotel = new Hotel();
+        newHotel.setName("Row Lock Hotel");
+        newHotel.setLocation("Goa");
+        newHotel.setPricePerNight(new BigDecimal("100.00"));
+        newHotel.setServiceProvider(provider);
+        hotel = hotelRepository.save(newHotel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch(bookings());
+        hotelRepository.deleteById(hotel.getId());
+        userRepository.deleteAllById(List.of(guest.getId(), provider.getId()));
+    }
+
+    @Test
+    @DisplayName("Test Case 92: Should never double book a hotel across transactions guarded only by the row lock")
+    void shouldSerializeBookingsOnTheHotelRow() throws Exception {
+        // Given
+        BookingService bookingService = bookingService();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ATTEMPTS);
+        Random random = new Random(42);
+
+        // When - overlapping stays in a short window, so most attempts conflict
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(10));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(3));
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    bookingService.bookHotel(hotel.getId(), checkIn, checkOut, guest);
+                } catch (InvalidBookingException e) {
+                    // Rejected as a conflict - expected for most attempts
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        // Then - the committed bookings never overlap, check-out day included
+        List<Booking> booked = bookings();
+        assertThat(booked).isNotEmpty();
+        for (int i = 0; i < booked.size(); i++) {
+            for (int j = i + 1; j < booked.size(); j++) {
+                Booking a = booked.get(i);
+                Booking b = booked.get(j);
+                assertThat(!a.getCheckInDate().isAfter(b.getCheckOutDate()) && !a.getCheckOutDate().isBefore(b.getCheckInDate()))
+                        .as("bookings %d and %d overlap", a.getId(), b.getId())
+                        .isFalse();
+            }
+        }
+    }
+
+    private BookingService bookingService() {
+        HotelService hotelService = mock(HotelService.class);
+        when(hotelService.findById(hotel.getId())).thenReturn(Optional.of(hotel));
+        when(hotelService.lockForBooking(hotel.getId()))
+                .thenAnswer(invocation -> hotelRepository.findByIdForUpdate(hotel.getId()).orElseThrow());
+
+        return new BookingService(bookingRepository, hotelService, new HotelAvailabilityIndex(10, 300),
+                new ProviderDashboardStats(10, 300), new NoOpLockStripes(), new TransactionTemplate(transactionManager),
+                new TravelMetrics(new SimpleMeterRegistry()));
+    }
+
+    private List<Booking> bookings() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getHotel().getId().equals(hotel.getId()))
+                .toList();
+    }
+
+    private static User user(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    // Lets every thread through, like requests arriving on different instances
+    private static class NoOpLockStripes extends HotelLockStripes {
+
+        NoOpLockStripes() {
+            super(1);
+        }
+
+        @Override
+        public Lock lockFor(Long hotelId) {
+            return new ReentrantLock();
+        }
+    }
+}
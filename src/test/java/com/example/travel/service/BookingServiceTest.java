@@ -5,14 +5,26 @@ import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.model.UserRole;
 import com.example.travel.exception.*;
+import com.example.travel.metrics.TravelMetrics;
 import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.BookingStay;
+import com.example.travel.repository.projection.BookingSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,6 +48,23 @@ class BookingServiceTest {
     @Mock 
     private HotelService hotelService;
 
+    @Mock
+    private HotelAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ProviderDashboardStats dashboardStats;
+
+    @Spy
+    private HotelLockStripes hotelLocks = new HotelLockStripes(16);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TravelMetrics metrics = new TravelMetrics(meterRegistry);
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -79,8 +108,7 @@ class BookingServiceTest {
         LocalDate checkOut = LocalDate.now().plusDays(3);
         
         when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(bookingRepository.findConflictingBookings(eq(testHotel), eq(checkIn), eq(checkOut)))
-            .thenReturn(Arrays.asList());
+        when(bookingRepository.existsConflictingBooking(1L, checkIn, checkOut)).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
 
         // When
@@ -94,8 +122,10 @@ class BookingServiceTest {
         assertThat(result.getCheckOutDate()).isEqualTo(checkOut);
         
         verify(hotelService).findById(1L);
-        verify(bookingRepository).findConflictingBookings(testHotel, checkIn, checkOut);
+        verify(hotelService).lockForBooking(1L);
+        verify(bookingRepository).existsConflictingBooking(1L, checkIn, checkOut);
         verify(bookingRepository).save(any(Booking.class));
+        verify(availabilityIndex).recordBooking(1L, 1L, checkIn, checkOut);
     }
 
     @Test
@@ -137,13 +167,8 @@ class BookingServiceTest {
         LocalDate checkIn = LocalDate.now().plusDays(1);
         LocalDate checkOut = LocalDate.now().plusDays(3);
         
-        Booking existingBooking = new Booking();
-        existingBooking.setCheckInDate(LocalDate.now().plusDays(2));
-        existingBooking.setCheckOutDate(LocalDate.now().plusDays(4));
-        
         when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(bookingRepository.findConflictingBookings(eq(testHotel), eq(checkIn), eq(checkOut)))
-            .thenReturn(Arrays.asList(existingBooking));
+        when(bookingRepository.existsConflictingBooking(1L, checkIn, checkOut)).thenReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> 
@@ -152,30 +177,24 @@ class BookingServiceTest {
             .hasMessageContaining("These dates are already booked");
         
         verify(hotelService).findById(1L);
-        verify(bookingRepository).findConflictingBookings(testHotel, checkIn, checkOut);
+        verify(bookingRepository).existsConflictingBooking(1L, checkIn, checkOut);
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
-    @DisplayName("Test Case 22: Should get bookings by user")
-    void shouldGetBookingsByUser() {
+    @DisplayName("Test Case 22: Should get a user's upcoming bookings one page at a time")
+    void shouldGetUpcomingBookingsByPage() {
         // Given
-        Booking booking2 = new Booking();
-        booking2.setId(2L);
-        booking2.setUser(testUser);
-        booking2.setHotel(testHotel);
-        
-        List<Booking> bookings = Arrays.asList(testBooking, booking2);
-        when(bookingRepository.findByUserOrderByCheckInDateDesc(testUser)).thenReturn(bookings);
+        Page<BookingSummary> summaries = new PageImpl<>(List.of(), PageRequest.of(1, 5), 5);
+        when(bookingRepository.findUpcomingSummariesByUserId(eq(testUser.getId()), any(LocalDate.class), any(Pageable.class)))
+            .thenReturn(summaries);
 
         // When
-        List<Booking> result = bookingService.getBookingsByUser(testUser);
+        Page<BookingSummary> result = bookingService.getUpcomingBookings(testUser, PageRequest.of(1, 5, Sort.by("id")));
 
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).allMatch(booking -> booking.getUser().equals(testUser));
-        
-        verify(bookingRepository).findByUserOrderByCheckInDateDesc(testUser);
+        // Then - the query orders by check-in itself, so the requested sort is dropped
+        assertThat(result).isSameAs(summaries);
+        verify(bookingRepository).findUpcomingSummariesByUserId(testUser.getId(), LocalDate.now(), PageRequest.of(1, 5));
     }
 
     @Test
@@ -214,6 +233,7 @@ class BookingServiceTest {
         // Then
         verify(bookingRepository).findById(1L);
         verify(bookingRepository).delete(testBooking);
+        verify(availabilityIndex).removeBooking(1L, 1L);
     }
 
     @Test
@@ -243,8 +263,7 @@ class BookingServiceTest {
         LocalDate checkOut = LocalDate.now().plusDays(3);
         
         when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(bookingRepository.findConflictingBookings(eq(testHotel), eq(checkIn), eq(checkOut)))
-            .thenReturn(Arrays.asList());
+        when(bookingRepository.existsConflictingBooking(1L, checkIn, checkOut)).thenReturn(false);
 
         // When
         boolean result = bookingService.areDatesAvailable(1L, checkIn, checkOut);
@@ -253,7 +272,7 @@ class BookingServiceTest {
         assertThat(result).isTrue();
         
         verify(hotelService).findById(1L);
-        verify(bookingRepository).findConflictingBookings(testHotel, checkIn, checkOut);
+        verify(bookingRepository).existsConflictingBooking(1L, checkIn, checkOut);
     }
 
     @Test
@@ -263,10 +282,8 @@ class BookingServiceTest {
         LocalDate checkIn = LocalDate.now().plusDays(1);
         LocalDate checkOut = LocalDate.now().plusDays(3);
         
-        Booking conflictingBooking = new Booking();
         when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(bookingRepository.findConflictingBookings(eq(testHotel), eq(checkIn), eq(checkOut)))
-            .thenReturn(Arrays.asList(conflictingBooking));
+        when(bookingRepository.existsConflictingBooking(1L, checkIn, checkOut)).thenReturn(true);
 
         // When
         boolean result = bookingService.areDatesAvailable(1L, checkIn, checkOut);
@@ -275,6 +292,132 @@ class BookingServiceTest {
         assertThat(result).isFalse();
         
         verify(hotelService).findById(1L);
-        verify(bookingRepository).findConflictingBookings(testHotel, checkIn, checkOut);
+        verify(bookingRepository).existsConflictingBooking(1L, checkIn, checkOut);
+    }
+
+    @Test
+    @DisplayName("Test Case 44: Should answer availability from a warm index without querying the database")
+    void shouldAnswerAvailabilityFromWarmIndex() {
+        // Given
+        LocalDate bookedIn = LocalDate.now().plusDays(5);
+        LocalDate bookedOut = LocalDate.now().plusDays(7);
+        HotelAvailabilityIndex.HotelCalendar calendar = new HotelAvailabilityIndex(10, 300)
+            .warm(1L, () -> List.of(new BookingStay(1L, bookedIn, bookedOut)))
+            .orElseThrow();
+        when(availabilityIndex.find(1L)).thenReturn(Optional.of(calendar));
+
+        // When & Then
+        assertThat(bookingService.areDatesAvailable(1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(4))).isTrue();
+        assertThat(bookingService.areDatesAvailable(1L, LocalDate.now().plusDays(6), LocalDate.now().plusDays(9))).isFalse();
+        assertThat(bookingService.getUnavailableRanges(1L, LocalDate.now(), LocalDate.now().plusDays(6)))
+            .containsExactly(new DateRange(bookedIn, bookedOut));
+
+        verifyNoInteractions(hotelService, bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Test Case 45: Should warm the index from stay projections when the hotel is cold")
+    void shouldWarmIndexWhenHotelIsCold() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        HotelAvailabilityIndex.HotelCalendar calendar = new HotelAvailabilityIndex(10, 300)
+            .warm(1L, List::of)
+            .orElseThrow();
+
+        when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(availabilityIndex.warm(eq(1L), any())).thenReturn(Optional.of(calendar));
+
+        // When
+        boolean result = bookingService.areDatesAvailable(1L, checkIn, checkOut);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test Case 53: Should get provider bookings with a single repository query")
+    void shouldGetProviderBookingsWithSingleQuery() {
+        // Given
+        Page<Booking> page = new PageImpl<>(List.of(testBooking));
+        when(bookingRepository.findByProviderId(eq(1L), any(Pageable.class))).thenReturn(page);
+
+        // When
+        Page<Booking> result = bookingService.getBookingsByProvider(testProvider, PageRequest.of(0, 20));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBooking);
+        verify(bookingRepository).findByProviderId(eq(1L), argThat(pageable -> pageable.getSort().isSorted()));
+        verify(hotelService, never()).getHotelsByProvider(any());
+        verify(bookingRepository, never()).findByHotel(any());
+    }
+
+    @Test
+    @DisplayName("Test Case 65: Should time booking attempts by outcome")
+    void shouldTimeBookingAttemptsByOutcome() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelService.lockForBooking(1L)).thenReturn(testHotel);
+        when(bookingRepository.existsConflictingBooking(1L, checkIn, checkOut))
+                .thenReturn(false)
+                .thenReturn(true);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // When
+        bookingService.bookHotel(1L, checkIn, checkOut, testUser);
+        assertThatThrownBy(() -> bookingService.bookHotel(1L, checkIn, checkOut, testUser))
+                .isInstanceOf(BookingConflictException.class);
+        assertThatThrownBy(() -> bookingService.bookHotel(1L, checkOut, checkIn, testUser))
+                .isInstanceOf(InvalidBookingException.class);
+
+        // Then
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "created").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "conflict").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer(TravelMetrics.BOOKING_CREATE, "outcome", "rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Case 68: Should coalesce sorted stays into ranges when the hotel cannot be warmed")
+    void shouldCoalesceStaysWhenHotelIsCold() {
+        // Given
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(30);
+        when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingRepository.findStaysBetween(1L, start, end)).thenReturn(List.of(
+                new BookingStay(1L, start.minusDays(3), start.plusDays(1)),
+                new BookingStay(2L, start.plusDays(2), start.plusDays(5)),
+                new BookingStay(3L, start.plusDays(3), start.plusDays(4)),
+                new BookingStay(4L, start.plusDays(20), start.plusDays(45))));
+
+        // When
+        List<DateRange> ranges = bookingService.getUnavailableRanges(1L, start, end);
+
+        // Then - adjacent stays merge, the nested stay disappears and both ends are clipped
+        assertThat(ranges).containsExactly(
+                new DateRange(start, start.plusDays(6)),
+                new DateRange(start.plusDays(20), end.plusDays(1)));
+        assertThat(ranges.stream().mapToLong(DateRange::days).sum()).isEqualTo(6 + 11);
+    }
+
+    @Test
+    @DisplayName("Test Case 71: Should summarise a conflict with counts instead of loading bookings")
+    void shouldSummariseConflictWithCounts() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(5);
+        when(hotelService.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingRepository.findStaysBetween(1L, checkIn, checkOut)).thenReturn(List.of(
+                new BookingStay(1L, checkIn.minusDays(2), checkIn.plusDays(1)),
+                new BookingStay(2L, checkOut, checkOut.plusDays(3))));
+        when(bookingRepository.countConflictingBookings(1L, checkIn, checkOut)).thenReturn(2L);
+
+        // When
+        BookingConflictSummary summary = bookingService.getConflictSummary(1L, checkIn, checkOut);
+
+        // Then - check-in day, the day after and check-out day are taken
+        assertThat(summary.bookedDays()).isEqualTo(3);
+        assertThat(summary.conflictingBookings()).isEqualTo(2);
     }
-}
\ No newline at end of file
+}
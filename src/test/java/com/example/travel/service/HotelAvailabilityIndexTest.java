@@ -0,0 +1,113 @@
+package com.example.travel.service;
+
+import com.example.travel.repository.projection.BookingStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotelAvailabilityIndex Tests")
+class HotelAvailabilityIndexTest {
+
+    private HotelAvailabilityIndex index;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelAvailabilityIndex(2, 300);
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Test Case 46: Should treat check-in through check-out as booked days")
+    void shouldTreatWholeStayAsBooked() {
+        HotelAvailabilityIndex.HotelCalendar calendar = index.warm(1L,
+                () -> List.of(new BookingStay(1L, today.plusDays(2), today.plusDays(4)))).orElseThrow();
+
+        assertThat(calendar.isFree(today, today.plusDays(1))).isTrue();
+        assertThat(calendar.isFree(today, today.plusDays(2))).isFalse();
+        assertThat(calendar.isFree(today.plusDays(4), today.plusDays(6))).isFalse();
+        assertThat(calendar.isFree(today.plusDays(5), today.plusDays(6))).isTrue();
+        assertThat(calendar.occupiedRanges(today, today.plusDays(10)))
+                .containsExactly(new DateRange(today.plusDays(2), today.plusDays(5)));
+    }
+
+    @Test
+    @DisplayName("Test Case 47: Should keep warm calendars in sync with bookings and cancellations")
+    void shouldKeepCalendarInSync() {
+        index.warm(1L, List::of);
+
+        index.recordBooking(1L, 10L, today.plusDays(1), today.plusDays(3));
+        index.recordBooking(1L, 11L, today.plusDays(3), today.plusDays(5));
+        assertThat(index.find(1L).orElseThrow().isFree(today.plusDays(2), today.plusDays(2))).isFalse();
+
+        index.removeBooking(1L, 10L);
+        HotelAvailabilityIndex.HotelCalendar calendar = index.find(1L).orElseThrow();
+        assertThat(calendar.isFree(today.plusDays(1), today.plusDays(2))).isTrue();
+        // Day 3 is still covered by the overlapping booking
+        assertThat(calendar.isFree(today.plusDays(3), today.plusDays(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Case 48: Should stay cold when a booking changes while the calendar is loading")
+    void shouldDiscardStaleWarmUp() {
+        assertThat(index.warm(1L, () -> {
+            index.recordBooking(1L, 10L, today.plusDays(1), today.plusDays(2));
+            return List.of();
+        })).isEmpty();
+        assertThat(index.find(1L)).isEmpty();
+
+        assertThat(index.warm(1L, List::of)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Test Case 49: Should evict calendars to make room for new hotels and drop evicted hotels")
+    void shouldRespectCapacityAndEviction() {
+        index.warm(1L, List::of);
+        index.warm(2L, List::of);
+
+        // A newly popular hotel still gets a calendar; an older one makes way for it
+        assertThat(index.warm(3L, List::of)).isPresent();
+        assertThat(Stream.of(1L, 2L, 3L).filter(id -> index.find(id).isPresent())).hasSizeLessThanOrEqualTo(2);
+
+        index.evict(3L);
+        assertThat(index.find(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Case 104: Should reload calendars once they outlive the TTL")
+    void shouldExpireCalendars() {
+        // Given - calendars that expire as soon as they are built
+        HotelAvailabilityIndex expiring = new HotelAvailabilityIndex(10, 0);
+        expiring.warm(1L, List::of);
+
+        // When - a booking is taken elsewhere, then the hotel is checked again
+        Optional<HotelAvailabilityIndex.HotelCalendar> reloaded = expiring.warm(1L,
+                () -> List.of(new BookingStay(10L, today.plusDays(1), today.plusDays(2))));
+
+        // Then - the stale calendar was not served and the reload sees the booking
+        assertThat(reloaded).isPresent();
+        assertThat(reloaded.get().isFree(today.plusDays(1), today.plusDays(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test Case 67: Should read coalesced half-open ranges off the calendar")
+    void shouldReadCoalescedRanges() {
+        HotelAvailabilityIndex.HotelCalendar calendar = index.warm(1L, () -> List.of(
+                new BookingStay(1L, today.plusDays(2), today.plusDays(4)),
+                new BookingStay(2L, today.plusDays(5), today.plusDays(6)),
+                new BookingStay(3L, today.plusDays(10), today.plusDays(40)))).orElseThrow();
+
+        // Days 2-6 are one run; the long stay is clipped to the window
+        assertThat(calendar.occupiedRanges(today, today.plusDays(20))).containsExactly(
+                new DateRange(today.plusDays(2), today.plusDays(7)),
+                new DateRange(today.plusDays(10), today.plusDays(21)));
+        assertThat(calendar.occupiedRanges(today.plusDays(7), today.plusDays(9))).isEmpty();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.travel.service;
+
+import com.example.travel.exception.ValidationException;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.projection.HotelSearchEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("HotelImportService Tests")
+class HotelImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private HotelRepository hotelRepository;
+    private HotelSearchIndex searchIndex;
+    private HotelCatalogueCache catalogueCache;
+    private Cache hibernateCache;
+    private HotelImportService importService;
+    private User provider;
+    private List<List<Object[]>> batches;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        hotelRepository = mock(HotelRepository.class);
+        searchIndex = mock(HotelSearchIndex.class);
+        catalogueCache = spy(new HotelCatalogueCache(300, 100, 100));
+        hibernateCache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        importService = new HotelImportService(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                hotelRepository, searchIndex, catalogueCache, new ObjectMapper(), sessionFactory, 2);
+
+        provider = new User();
+        provider.setId(7L);
+        provider.setUsername("provider");
+        provider.setRole(UserRole.PROVIDER);
+
+        // The service reuses its batch buffer, so record a copy of each batch as it is written
+        batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batches.add(List.copyOf(rows));
+            return new int[rows.size()];
+        });
+        when(hotelRepository.findMaxId()).thenReturn(100L);
+    }
+
+    @Test
+    @DisplayName("Test Case 76: Should import valid CSV rows in batches and report invalid ones by line")
+    void shouldImportCsvInBatches() {
+        // Given
+        String csv = String.join("\n",
+                "name,location,pricePerNight",
+                "Sea Breeze,North Goa,2500.00",
+                "\"Palms, Villas & Co\",\"South Goa\",3100",
+                ",Mumbai,1200",
+                "Hill Top,Manali,-5",
+                "",
+                "Lake View,Udaipur,abc",
+                "Fort Stay,Jaipur,1800.5");
+        List<HotelSearchEntry> imported = List.of(new HotelSearchEntry(101L, "Sea Breeze", "North Goa", new BigDecimal("2500.00")));
+        when(hotelRepository.findSearchEntriesByProviderAfter(7L, 100L)).thenReturn(imported);
+
+        // When
+        HotelImportResult result = importService.importHotels(stream(csv), HotelImportFormat.CSV, provider);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.errors()).extracting(HotelImportResult.RowError::row).containsExactly(4L, 5L, 7L);
+        assertThat(result.errors().get(0).message()).isEqualTo("Hotel name is required");
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).hasSize(2);
+        assertThat(batches.get(0).get(1)).containsExactly("Palms, Villas & Co", "South Goa", new BigDecimal("3100"), 7L);
+        assertThat(batches.get(1)).hasSize(1);
+        verify(searchIndex).putAll(imported);
+        verify(catalogueCache).invalidateSearches();
+        verify(hibernateCache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @DisplayName("Test Case 77: Should stream a JSON array and reject a file that is not one")
+    void shouldImportJsonArray() {
+        // Given
+        String json = """
+                [
+                  {"name": "Sea Breeze", "location": "North Goa", "pricePerNight": 2500.00, "stars": 4},
+                  {"name": "No Price", "location": "Pune"},
+                  "not a hotel",
+                  {"name": "Fort Stay", "location": "Jaipur", "pricePerNight": "1800.50"}
+                ]
+                """;
+
+        // When
+        HotelImportResult result = importService.importHotels(stream(json), HotelImportFormat.JSON, provider);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(HotelImportResult.RowError::row).containsExactly(2L, 3L);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).get(1)[2]).isEqualTo(new BigDecimal("1800.50"));
+
+        assertThatThrownBy(() -> importService.importHotels(stream("{\"name\": \"x\"}"), HotelImportFormat.JSON, provider))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("array");
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.repository.HotelRepository;
+import com.example.travel.repository.projection.HotelSearchEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("HotelSearchIndex Tests")
+class HotelSearchIndexTest {
+
+    private HotelSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelSearchIndex(mock(HotelRepository.class), true);
+        index.load(List.of(
+                new HotelSearchEntry(1L, "Sea Breeze", "North Goa", new BigDecimal("120.00")),
+                new HotelSearchEntry(2L, "Mountain View", "Manali", new BigDecimal("80.00")),
+                new HotelSearchEntry(3L, "Café Royale", "São Paulo", new BigDecimal("200.00")),
+                new HotelSearchEntry(4L, "Goa Palms", "South Goa", new BigDecimal("90.00"))));
+    }
+
+    @Test
+    @DisplayName("Test Case 58: Should match substrings the way LOWER(...) LIKE '%x%' does")
+    void shouldMatchSubstringsLikeLike() {
+        assertThat(index.findByLocation("goa", null)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.findByLocation("TH GO", null)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.findByLocation("a", null)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(index.findByLocation("goa", new BigDecimal("100"))).containsExactly(4L);
+        assertThat(index.findByLocation("sao paulo", null)).containsExactly(3L);
+        assertThat(index.findByLocation("xyz", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Case 59: Should reflect hotel writes and serve keyset pages")
+    void shouldReflectWritesAndServePages() {
+        Hotel moved = new Hotel();
+        moved.setId(2L);
+        moved.setName("Mountain View");
+        moved.setLocation("Goa Hills");
+        moved.setPricePerNight(new BigDecimal("80.00"));
+        index.put(moved);
+        index.remove(1L);
+
+        assertThat(index.findByLocation("manali", null)).isEmpty();
+        assertThat(index.findByLocation("goa", null)).containsExactlyInAnyOrder(2L, 4L);
+
+        List<Long> firstPage = index.findPage("goa", null, HotelSortOrder.PRICE, null, 1);
+        assertThat(firstPage).containsExactly(2L);
+        HotelSearchCursor cursor = new HotelSearchCursor(HotelSortOrder.PRICE, "80.00", 2L);
+        assertThat(index.findPage("goa", null, HotelSortOrder.PRICE, cursor, 5)).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Test Case 80: Should filter on whole cents and stay consistent through incremental writes")
+    void shouldFilterOnCentsThroughIncrementalWrites() {
+        // Price-only filters never touch the location dictionary; the cap is floored to whole cents
+        assertThat(index.findByMaxPrice(new BigDecimal("90"))).containsExactly(2L, 4L);
+        assertThat(index.findByMaxPrice(new BigDecimal("89.999"))).containsExactly(2L);
+        assertThat(index.findByMaxPrice(new BigDecimal("-1"))).isEmpty();
+        assertThat(index.findByMaxPrice(null)).containsExactly(1L, 2L, 3L, 4L);
+
+        // Removing a middle slot moves the last hotel into it; repricing keeps the hotel's slot
+        index.remove(2L);
+        Hotel repriced = new Hotel();
+        repriced.setId(3L);
+        repriced.setName("Café Royale");
+        repriced.setLocation("São Paulo");
+        repriced.setPricePerNight(new BigDecimal("75.50"));
+        index.put(repriced);
+
+        assertThat(index.findByMaxPrice(new BigDecimal("90.00"))).containsExactly(3L, 4L);
+        assertThat(index.findByLocation("paulo", new BigDecimal("75.50"))).containsExactly(3L);
+        assertThat(index.findPage(null, new BigDecimal("150"), HotelSortOrder.PRICE, null, 5)).containsExactly(3L, 4L, 1L);
+        assertThat(index.findPage(null, null, HotelSortOrder.NAME, null, 5)).containsExactly(3L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Test Case 94: Should apply the price floor in the same scan as the cap and location")
+    void shouldFilterOnPriceRange() {
+        // The floor is rounded up to whole cents, mirroring the cap being floored
+        assertThat(index.findByPriceRange(null, new BigDecimal("90"), new BigDecimal("120"))).containsExactly(1L, 4L);
+        assertThat(index.findByPriceRange(null, new BigDecimal("90.001"), null)).containsExactly(1L, 3L);
+        assertThat(index.findByPriceRange("goa", new BigDecimal("100"), null)).containsExactly(1L);
+        assertThat(index.findByPriceRange("goa", new BigDecimal("100"), new BigDecimal("99"))).isEmpty();
+        assertThat(index.findByPriceRange(null, null, null)).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Test Case 90: Should keep hotel writes made while a reload reads its snapshot")
+    void shouldReplayWritesMadeDuringReload() {
+        // Given - a reload whose snapshot was read before a concurrent edit and a delete committed
+        HotelRepository hotelRepository = mock(HotelRepository.class);
+        HotelSearchIndex reloading = new HotelSearchIndex(hotelRepository, true);
+        Hotel moved = new Hotel();
+        moved.setId(2L);
+        moved.setName("Mountain View");
+        moved.setLocation("Goa Hills");
+        moved.setPricePerNight(new BigDecimal("80.00"));
+        when(hotelRepository.findSearchEntries()).thenAnswer(invocation -> {
+            reloading.put(moved);
+            reloading.remove(4L);
+            return List.of(
+                    new HotelSearchEntry(2L, "Mountain View", "Manali", new BigDecimal("80.00")),
+                    new HotelSearchEntry(4L, "Goa Palms", "South Goa", new BigDecimal("90.00")));
+        });
+
+        // When - first the startup load, then a periodic reload racing the same writes
+        reloading.rebuild();
+        assertThat(reloading.findByLocation("goa", null)).containsExactly(2L);
+        reloading.rebuild();
+
+        // Then - the writes win over the older snapshot both times
+        assertThat(reloading.isReady()).isTrue();
+        assertThat(reloading.findByLocation("goa", null)).containsExactly(2L);
+        assertThat(reloading.findByLocation("manali", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test Case 101: Should walk keyset pages in full sort order without sorting every match")
+    void shouldWalkPagesInSortOrder() {
+        // Given - many hotels with tied prices and names, loaded out of order
+        Random random = new Random(3);
+        List<HotelSearchEntry> hotels = new ArrayList<>();
+        for (long id = 200; id >= 1; id--) {
+            hotels.add(new HotelSearchEntry(id, "Stay " + random.nextInt(20), "Goa " + id,
+                    BigDecimal.valueOf(5_000 + random.nextInt(10) * 100L, 2)));
+        }
+        index.load(hotels);
+        Map<Long, HotelSearchEntry> byId = hotels.stream().collect(Collectors.toMap(HotelSearchEntry::id, Function.identity()));
+
+        // When
+        List<Long> byPrice = walk(HotelSortOrder.PRICE, byId);
+        List<Long> byName = walk(HotelSortOrder.NAME, byId);
+
+        // Then
+        assertThat(byPrice).containsExactlyElementsOf(hotels.stream()
+                .sorted(Comparator.comparing(HotelSearchEntry::pricePerNight).thenComparing(HotelSearchEntry::id))
+                .map(HotelSearchEntry::id)
+                .toList());
+        assertThat(byName).containsExactlyElementsOf(hotels.stream()
+                .sorted(Comparator.comparing(HotelSearchEntry::name, String.CASE_INSENSITIVE_ORDER)
+                        .thenComparing(HotelSearchEntry::name)
+                        .thenComparing(HotelSearchEntry::id))
+                .map(HotelSearchEntry::id)
+                .toList());
+    }
+
+    private List<Long> walk(HotelSortOrder sort, Map<Long, HotelSearchEntry> byId) {
+        List<Long> walked = new ArrayList<>();
+        HotelSearchCursor cursor = null;
+        List<Long> page;
+        do {
+            page = index.findPage("goa", null, sort, cursor, 7);
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                HotelSearchEntry last = byId.get(page.get(page.size() - 1));
+                String value = sort == HotelSortOrder.PRICE ? last.pricePerNight().toPlainString() : last.name();
+                cursor = new HotelSearchCursor(sort, value, last.id());
+            }
+        } while (page.size() == 7);
+        return walked;
+    }
+}
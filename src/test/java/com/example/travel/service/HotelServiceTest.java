@@ -4,16 +4,21 @@ import com.example.travel.model.Hotel;
 import com.example.travel.model.User;
 import com.example.travel.model.UserRole;
 import com.example.travel.exception.*;
+import com.example.travel.metrics.TravelMetrics;
 import com.example.travel.repository.HotelRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +26,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +37,23 @@ class HotelServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private HotelAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ProviderDashboardStats dashboardStats;
+
+    @Mock
+    private HotelSearchIndex searchIndex;
+
+    @Spy
+    private HotelCatalogueCache catalogueCache = new HotelCatalogueCache(300, 100, 100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TravelMetrics metrics = new TravelMetrics(meterRegistry);
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -70,6 +94,7 @@ class HotelServiceTest {
         assertThat(result.getServiceProvider()).isEqualTo(testProvider);
         
         verify(hotelRepository).save(any(Hotel.class));
+        verify(searchIndex).put(testHotel);
     }
 
     @Test
@@ -131,7 +156,7 @@ class HotelServiceTest {
     @DisplayName("Test Case 13: Should update hotel successfully when user is owner")
     void shouldUpdateHotelWhenUserIsOwner() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.findByIdBypassingCache(1L)).thenReturn(Optional.of(testHotel));
         when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
 
         // When
@@ -144,7 +169,7 @@ class HotelServiceTest {
         assertThat(result.getLocation()).isEqualTo("Updated Location");
         assertThat(result.getPricePerNight()).isEqualTo(new BigDecimal("200.00"));
         
-        verify(hotelRepository).findById(1L);
+        verify(hotelRepository).findByIdBypassingCache(1L);
         verify(hotelRepository).save(any(Hotel.class));
     }
 
@@ -157,7 +182,7 @@ class HotelServiceTest {
         anotherUser.setUsername("another");
         anotherUser.setRole(UserRole.PROVIDER);
         
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.findByIdBypassingCache(1L)).thenReturn(Optional.of(testHotel));
 
         // When & Then
         assertThatThrownBy(() -> 
@@ -166,7 +191,7 @@ class HotelServiceTest {
             .isInstanceOf(UnauthorizedAccessException.class)
             .hasMessageContaining("You are not authorized to update this hotel");
         
-        verify(hotelRepository).findById(1L);
+        verify(hotelRepository).findByIdBypassingCache(1L);
         verify(hotelRepository, never()).save(any(Hotel.class));
     }
 
@@ -174,14 +199,16 @@ class HotelServiceTest {
     @DisplayName("Test Case 15: Should delete hotel successfully when user is owner")
     void shouldDeleteHotelWhenUserIsOwner() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.findByIdBypassingCache(1L)).thenReturn(Optional.of(testHotel));
 
         // When
         hotelService.deleteHotel(1L, testProvider);
 
         // Then
-        verify(hotelRepository).findById(1L);
+        verify(hotelRepository).findByIdBypassingCache(1L);
         verify(hotelRepository).delete(testHotel);
+        verify(availabilityIndex).evict(1L);
+        verify(searchIndex).remove(1L);
     }
 
     @Test
@@ -193,14 +220,14 @@ class HotelServiceTest {
         anotherUser.setUsername("another");
         anotherUser.setRole(UserRole.PROVIDER);
         
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.findByIdBypassingCache(1L)).thenReturn(Optional.of(testHotel));
 
         // When & Then
         assertThatThrownBy(() -> hotelService.deleteHotel(1L, anotherUser))
             .isInstanceOf(UnauthorizedAccessException.class)
             .hasMessageContaining("You are not authorized to delete this hotel");
         
-        verify(hotelRepository).findById(1L);
+        verify(hotelRepository).findByIdBypassingCache(1L);
         verify(hotelRepository, never()).delete(any(Hotel.class));
     }
 
@@ -224,4 +251,186 @@ class HotelServiceTest {
         
         verify(hotelRepository).findByServiceProvider(testProvider);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test Case 54: Should return a cursor when more hotels follow the first page")
+    void shouldReturnCursorForFirstPage() {
+        // Given
+        Hotel hotel2 = new Hotel();
+        hotel2.setId(2L);
+        hotel2.setName("Another Hotel");
+        hotel2.setPricePerNight(new BigDecimal("150.00"));
+        when(hotelRepository.findFirstPageByPrice(eq("Goa"), isNull(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testHotel, hotel2));
+
+        // When
+        HotelSearchPage page = hotelService.searchHotels(" Goa ", null, HotelSortOrder.PRICE, null, 1);
+
+        // Then
+        assertThat(page.hotels()).containsExactly(testHotel);
+        assertThat(page.hasNext()).isTrue();
+        HotelSearchCursor cursor = HotelSearchCursor.decode(page.nextCursor(), HotelSortOrder.PRICE);
+        assertThat(cursor.priceValue()).isEqualByComparingTo("100.00");
+        assertThat(cursor.lastId()).isEqualTo(1L);
+        verify(hotelRepository).findFirstPageByPrice(eq("Goa"), isNull(), argThat(limit -> limit.getPageSize() == 2));
+    }
+
+    @Test
+    @DisplayName("Test Case 55: Should seek past the cursor instead of offsetting for deeper pages")
+    void shouldSeekPastCursorForDeeperPages() {
+        // Given
+        String cursor = new HotelSearchCursor(HotelSortOrder.NAME, "Test Hotel", 1L).encode();
+        when(hotelRepository.findPageByNameAfter(isNull(), any(), eq("Test Hotel"), eq(1L), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // When
+        HotelSearchPage page = hotelService.searchHotels(null, new BigDecimal("500"), HotelSortOrder.NAME, cursor, 10);
+
+        // Then
+        assertThat(page.hotels()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        verify(hotelRepository, never()).findFirstPageByName(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test Case 56: Should reject a cursor issued for another sort order")
+    void shouldRejectCursorForAnotherSortOrder() {
+        String cursor = new HotelSearchCursor(HotelSortOrder.NAME, "Test Hotel", 1L).encode();
+
+        assertThatThrownBy(() -> hotelService.searchHotels(null, null, HotelSortOrder.PRICE, cursor, 10))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> hotelService.searchHotels(null, null, HotelSortOrder.PRICE, "not-a-cursor", 10))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Test Case 57: Should route location search through the search index when it is ready")
+    void shouldRouteLocationSearchThroughIndex() {
+        // Given
+        Hotel hotel2 = new Hotel();
+        hotel2.setId(2L);
+        hotel2.setName("Another Hotel");
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.findByPriceRange("Test", null, null)).thenReturn(List.of(2L, 1L));
+        when(hotelRepository.findAllWithServiceProviderByIdIn(List.of(2L, 1L))).thenReturn(Arrays.asList(testHotel, hotel2));
+
+        // When
+        List<Hotel> result = hotelService.searchHotels("Test", null, null);
+
+        // Then
+        assertThat(result).containsExactly(hotel2, testHotel);
+        verify(hotelRepository, never()).findByLocationContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Test Case 102: Should keep price-only pages on the keyset query while the index is ready")
+    void shouldKeepPriceOnlyPagesOnKeysetQuery() {
+        // Given
+        lenient().when(searchIndex.isReady()).thenReturn(true);
+        when(hotelRepository.findFirstPageByPrice(isNull(), eq(new BigDecimal("150")), any(Pageable.class)))
+            .thenReturn(List.of(testHotel));
+
+        // When
+        HotelSearchPage page = hotelService.searchHotels(null, new BigDecimal("150"), HotelSortOrder.PRICE, null, 10);
+
+        // Then
+        assertThat(page.hotels()).containsExactly(testHotel);
+        verify(searchIndex, never()).findPage(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test Case 60: Should serve repeated hotel lookups from the catalogue cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(hotelRepository.findByIdWithServiceProvider(1L)).thenReturn(Optional.of(testHotel));
+
+        // When
+        Hotel first = hotelService.findById(1L).orElseThrow();
+        Hotel second = hotelService.findById(1L).orElseThrow();
+
+        // Then
+        assertThat(second.getName()).isEqualTo(first.getName());
+        assertThat(second.getServiceProvider().getId()).isEqualTo(1L);
+        assertThat(second).isNotSameAs(first);
+        verify(hotelRepository, times(1)).findByIdWithServiceProvider(1L);
+        assertThat(catalogueCache.metrics().get(0).hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Case 61: Should invalidate cached searches a hotel write affects, and only those")
+    void shouldInvalidateAffectedSearchesOnly() {
+        // Given
+        Hotel goaHotel = new Hotel();
+        goaHotel.setId(2L);
+        goaHotel.setName("Goa Hotel");
+        goaHotel.setLocation("North Goa");
+        goaHotel.setPricePerNight(new BigDecimal("90.00"));
+        goaHotel.setServiceProvider(testProvider);
+        when(hotelRepository.findByLocationContainingIgnoreCase("Test")).thenReturn(List.of(testHotel));
+        when(hotelRepository.findByLocationContainingIgnoreCase("Goa")).thenReturn(List.of(goaHotel));
+        when(hotelRepository.findByIdBypassingCache(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
+
+        hotelService.searchHotels("Test", null, null);
+        hotelService.searchHotels("Goa", null, null);
+
+        // When - the Test Location hotel is renamed, which cannot affect the Goa search
+        hotelService.updateHotel(1L, "Renamed Hotel", "Test Location", new BigDecimal("100.00"), testProvider);
+        hotelService.searchHotels("Test", null, null);
+        hotelService.searchHotels("Goa", null, null);
+
+        // Then
+        verify(hotelRepository, times(2)).findByLocationContainingIgnoreCase("Test");
+        verify(hotelRepository, times(1)).findByLocationContainingIgnoreCase("Goa");
+    }
+
+    @Test
+    @DisplayName("Test Case 66: Should time searches by filter shape and answering source")
+    void shouldTimeSearchesByFilterShape() {
+        // Given
+        when(hotelRepository.findByLocationAndMaxPrice("Test", new BigDecimal("150"))).thenReturn(List.of(testHotel));
+
+        // When
+        hotelService.searchHotels("Test", null, new BigDecimal("150"));
+        hotelService.searchHotels("Test", null, new BigDecimal("150"));
+
+        // Then
+        assertThat(meterRegistry.timer(TravelMetrics.HOTEL_SEARCH,
+                "filter", "location_price", "paged", "false", "source", "database").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer(TravelMetrics.HOTEL_SEARCH,
+                "filter", "location_price", "paged", "false", "source", "cache").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Case 81: Should answer availability searches with one anti-join query per page, never cached")
+    void shouldSearchAvailabilityWithAntiJoin() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(3);
+        when(hotelRepository.findFirstAvailablePageByPrice(eq("Goa"), isNull(), eq(checkIn), eq(checkOut), any(Pageable.class)))
+            .thenReturn(List.of(testHotel));
+
+        // When
+        HotelSearchPage first = hotelService.searchAvailableHotels(" Goa ", null, checkIn, checkOut, HotelSortOrder.PRICE, null, 10);
+        HotelSearchPage again = hotelService.searchAvailableHotels("Goa", null, checkIn, checkOut, HotelSortOrder.PRICE, null, 10);
+
+        // Then - a booking made between the two calls must show up, so nothing is served from the cache
+        assertThat(first.hotels()).containsExactly(testHotel);
+        assertThat(again.hasNext()).isFalse();
+        verify(hotelRepository, times(2)).findFirstAvailablePageByPrice(eq("Goa"), isNull(), eq(checkIn), eq(checkOut),
+                argThat(limit -> limit.getPageSize() == 11));
+        verifyNoInteractions(availabilityIndex);
+        assertThat(meterRegistry.timer(TravelMetrics.HOTEL_SEARCH,
+                "filter", "location_dates", "paged", "true", "source", "database").count()).isEqualTo(2);
+
+        assertThatThrownBy(() -> hotelService.searchAvailableHotels(null, null, checkIn, null, HotelSortOrder.PRICE, null, 10))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> hotelService.searchAvailableHotels(null, null, checkIn, checkIn, HotelSortOrder.PRICE, null, 10))
+            .isInstanceOf(InvalidBookingException.class)
+            .hasMessage("Check-out date must be after check-in date");
+        assertThatThrownBy(() -> hotelService.searchAvailableHotels(null, null, LocalDate.now().minusDays(1), checkOut,
+                HotelSortOrder.PRICE, null, 10))
+            .isInstanceOf(InvalidBookingException.class)
+            .hasMessage("Check-in date cannot be in the past");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.travel.service;
+
+import com.example.travel.model.Hotel;
+import com.example.travel.model.User;
+import com.example.travel.model.UserRole;
+import com.example.travel.repository.BookingRepository;
+import com.example.travel.repository.projection.HotelStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProviderDashboardService Tests")
+class ProviderDashboardServiceTest {
+
+    private HotelService hotelService;
+    private BookingRepository bookingRepository;
+    private ProviderDashboardStats dashboardStats;
+    private ProviderDashboardService dashboardService;
+    private User provider;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        hotelService = mock(HotelService.class);
+        bookingRepository = mock(BookingRepository.class);
+        dashboardStats = new ProviderDashboardStats(10, 300);
+        dashboardService = new ProviderDashboardService(hotelService, bookingRepository, dashboardStats, 10);
+        today = LocalDate.now();
+
+        provider = new User();
+        provider.setId(1L);
+        provider.setUsername("provider");
+        provider.setRole(UserRole.PROVIDER);
+    }
+
+    @Test
+    @DisplayName("Test Case 87: Should load each hotel's stays once and keep the dashboard current from bookings and cancellations")
+    void shouldServeDashboardFromIncrementalCounters() {
+        // Given - one hotel with a past stay and an upcoming one, another with no bookings
+        when(hotelService.getHotelsByProvider(provider)).thenReturn(List.of(
+                hotel(10L, "Goa Palms", "100.00"), hotel(11L, "Hill View", "50.00")));
+        when(bookingRepository.findStaysByHotelIds(anyCollection())).thenReturn(List.of(
+                new HotelStay(10L, today.minusDays(20), today.minusDays(17)),
+                new HotelStay(10L, today.plusDays(2), today.plusDays(4))));
+
+        // When
+        ProviderDashboard first = dashboardService.getDashboard(provider);
+
+        // Then - 5 nights in total, 2 of them inside the 10-day window
+        ProviderDashboard.HotelRow palms = first.hotels().get(0);
+        assertThat(palms.bookings()).isEqualTo(2);
+        assertThat(palms.nights()).isEqualTo(5);
+        assertThat(palms.revenue()).isEqualByComparingTo("500.00");
+        assertThat(palms.bookedNights()).isEqualTo(2);
+        assertThat(palms.upcomingCheckIns()).isEqualTo(1);
+        assertThat(palms.nextCheckIn()).isEqualTo(today.plusDays(2));
+        assertThat(first.hotels().get(1).bookings()).isZero();
+        assertThat(first.occupancyRate()).isEqualTo(2.0 / 20);
+
+        // When - a booking on the empty hotel, then the upcoming stay at the first is cancelled
+        dashboardStats.recordBooking(11L, today.plusDays(1), today.plusDays(8));
+        dashboardStats.removeBooking(10L, today.plusDays(2), today.plusDays(4));
+        ProviderDashboard second = dashboardService.getDashboard(provider);
+
+        // Then - the counters moved without another read of the bookings table
+        assertThat(second.hotels().get(0).bookings()).isEqualTo(1);
+        assertThat(second.hotels().get(0).upcomingCheckIns()).isZero();
+        assertThat(second.hotels().get(0).nextCheckIn()).isNull();
+        assertThat(second.hotels().get(1).nights()).isEqualTo(7);
+        assertThat(second.totalRevenue()).isEqualByComparingTo("650.00");
+        assertThat(second.upcomingCheckIns()).isEqualTo(1);
+        assertThat(second.occupancyRate()).isEqualTo(7.0 / 20);
+        verify(bookingRepository, times(1)).findStaysByHotelIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test Case 91: Should rebuild expired counters so bookings from other instances show up")
+    void shouldRebuildExpiredCounters() {
+        // Given - counters that expire as soon as they are built
+        ProviderDashboardService expiring = new ProviderDashboardService(hotelService, bookingRepository,
+                new ProviderDashboardStats(10, 0), 10);
+        when(hotelService.getHotelsByProvider(provider)).thenReturn(List.of(hotel(10L, "Goa Palms", "100.00")));
+        when(bookingRepository.findStaysByHotelIds(anyCollection()))
+                .thenReturn(List.of(new HotelStay(10L, today.plusDays(1), today.plusDays(2))))
+                .thenReturn(List.of(new HotelStay(10L, today.plusDays(1), today.plusDays(2)),
+                        new HotelStay(10L, today.plusDays(3), today.plusDays(5))));
+
+        // When - a booking is taken elsewhere between two views
+        ProviderDashboard first = expiring.getDashboard(provider);
+        ProviderDashboard second = expiring.getDashboard(provider);
+
+        // Then - the second view reloaded the stays and sees it
+        assertThat(first.hotels().get(0).bookings()).isEqualTo(1);
+        assertThat(second.hotels().get(0).bookings()).isEqualTo(2);
+        assertThat(second.hotels().get(0).bookedNights()).isEqualTo(3);
+        verify(bookingRepository, times(2)).findStaysByHotelIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test Case 103: Should not keep counters warmed while a booking is between commit and record")
+    void shouldNotKeepCountersWarmedDuringInFlightBooking() {
+        // Given - a booking already committed but not yet recorded when the dashboard loads
+        when(hotelService.getHotelsByProvider(provider)).thenReturn(List.of(hotel(10L, "Goa Palms", "100.00")));
+        when(bookingRepository.findStaysByHotelIds(anyCollection()))
+                .thenReturn(List.of(new HotelStay(10L, today.plusDays(1), today.plusDays(3))));
+        dashboardStats.beginChange(10L);
+
+        // When
+        ProviderDashboard during = dashboardService.getDashboard(provider);
+        dashboardStats.recordBooking(10L, today.plusDays(1), today.plusDays(3));
+        dashboardStats.endChange(10L);
+        ProviderDashboard after = dashboardService.getDashboard(provider);
+
+        // Then - the stay is counted once, by a fresh load rather than twice by load and record
+        assertThat(during.hotels().get(0).bookings()).isEqualTo(1);
+        assertThat(after.hotels().get(0).bookings()).isEqualTo(1);
+        assertThat(after.hotels().get(0).nights()).isEqualTo(2);
+        verify(bookingRepository, times(2)).findStaysByHotelIds(anyCollection());
+    }
+
+    private Hotel hotel(Long id, String name, String price) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName(name);
+        hotel.setLocation("Goa");
+        hotel.setPricePerNight(new BigDecimal(price));
+        hotel.setServiceProvider(provider);
+        return hotel;
+    }
+}